@@ -0,0 +1,39 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Instant;
+import java.util.StringJoiner;
+
+/**
+ * Run listings shaped like the API responses, shared by the benchmarks.
+ */
+final class Payloads {
+    private Payloads() {
+    }
+
+    /**
+     * @return a {@code /runs} listing of the given size, the most recent run (highest id) last.
+     */
+    static String runs(int size, String status) {
+        Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+        StringJoiner data = new StringJoiner(",", "{\"data\": [", "], \"hasMore\": false}");
+
+        for (int i = 1; i <= size; i++) {
+            data.add("""
+                {
+                  "id": %d,
+                  "status": "%s",
+                  "createdAt": "%s",
+                  "startedAt": "%s",
+                  "finishedAt": null,
+                  "completionRatio": 42,
+                  "querySize": 123456,
+                  "plannedRows": {"addedCount": 1000, "removedCount": 10, "changedCount": 100},
+                  "successfulRows": {"addedCount": 420, "removedCount": 4, "changedCount": 42},
+                  "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0},
+                  "error": null
+                }""".formatted(i, status, createdAt.plusSeconds(i), createdAt.plusSeconds(i + 1)));
+        }
+
+        return data.toString();
+    }
+}
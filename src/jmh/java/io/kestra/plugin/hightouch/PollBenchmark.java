@@ -0,0 +1,103 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunDetailsResponse;
+
+import io.micronaut.context.ApplicationContext;
+
+/**
+ * Full request / parse cycle of the status poll against an in-process HTTP stub, so that the client, the rate limiter
+ * and the decoding are measured without network latency. The rate limit is lifted for the benchmark credentials.
+ */
+@State(Scope.Benchmark)
+public class PollBenchmark {
+    private static final String TOKEN = "benchmark";
+    private static final String SYNC_ID = "1";
+    private static final int POLLS = 10;
+
+    @Param({"1", "20"})
+    private int size;
+
+    private ApplicationContext applicationContext;
+    private HttpServer server;
+    private HightouchClient client;
+    private SyncRunner runner;
+    private Long runId;
+
+    @Setup
+    public void setup() throws Exception {
+        byte[] runs = Payloads.runs(size, "processing").getBytes(StandardCharsets.UTF_8);
+        byte[] details = "{\"id\": 1, \"slug\": \"benchmark\"}".getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/syncs/" + SYNC_ID + "/runs", exchange -> respond(exchange, runs));
+        server.createContext("/api/v1/syncs/" + SYNC_ID, exchange -> respond(exchange, details));
+        server.start();
+
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        RateLimiter.configure(HightouchClient.key(baseUrl, "Bearer " + TOKEN), Double.MAX_VALUE, Double.MAX_VALUE);
+
+        applicationContext = ApplicationContext.run();
+        RunContext runContext = applicationContext.getBean(RunContextFactory.class).of();
+
+        client = new HightouchClient(runContext, baseUrl, TOKEN, null);
+        runner = new SyncRunner(client, LoggerFactory.getLogger(PollBenchmark.class));
+        runId = (long) size;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.stop(0);
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public RunDetailsResponse request() throws Exception {
+        return client.request("GET", "/api/v1/syncs/" + SYNC_ID + "/runs?runId=" + runId, "{}", RunDetailsResponse.class).getBody();
+    }
+
+    @Benchmark
+    public RunDetails fetchRun() throws Exception {
+        return runner.fetchRun(SYNC_ID, runId);
+    }
+
+    /**
+     * A wait of {@value #POLLS} polls without the sleeps: fetch the run, then compute the next delay from it.
+     */
+    @Benchmark
+    @OperationsPerInvocation(POLLS)
+    public Duration pollLoop() throws Exception {
+        PollingSchedule schedule = new PollingSchedule(Duration.ofSeconds(1), Duration.ofSeconds(30), 1.5, 0.1, null, null, true);
+
+        Duration next = null;
+        for (int i = 0; i < POLLS; i++) {
+            next = schedule.next(runner.fetchRun(SYNC_ID, runId), Instant.now());
+        }
+
+        return next;
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
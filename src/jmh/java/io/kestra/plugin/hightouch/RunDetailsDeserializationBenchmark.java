@@ -0,0 +1,43 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunDetailsResponse;
+
+/**
+ * Cost of decoding a run listing, buffered as a whole or streamed up to the polled run.
+ */
+@State(Scope.Benchmark)
+public class RunDetailsDeserializationBenchmark {
+    @Param({"1", "20", "200"})
+    private int size;
+
+    private byte[] payload;
+    private Long lastRunId;
+
+    @Setup
+    public void setup() {
+        payload = Payloads.runs(size, "processing").getBytes(StandardCharsets.UTF_8);
+        lastRunId = (long) size;
+    }
+
+    @Benchmark
+    public RunDetailsResponse readValue() throws IOException {
+        return HightouchClient.MAPPER.readValue(payload, RunDetailsResponse.class);
+    }
+
+    @Benchmark
+    public RunDetails findFirst() throws IOException {
+        return PageReader.find(new ByteArrayInputStream(payload), 1L);
+    }
+
+    @Benchmark
+    public RunDetails findLast() throws IOException {
+        return PageReader.find(new ByteArrayInputStream(payload), lastRunId);
+    }
+}
@@ -0,0 +1,33 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+/**
+ * Cost of mapping a status received from the API, from a string and as part of a JSON document.
+ */
+@State(Scope.Benchmark)
+public class RunStatusBenchmark {
+    @Param({"processing", "completed_with_errors", "Completed With Errors", "canceled by user", "unknown"})
+    private String value;
+
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        json = ("\"" + value + "\"").getBytes();
+    }
+
+    @Benchmark
+    public RunStatus fromValue() {
+        return RunStatus.fromValue(value);
+    }
+
+    @Benchmark
+    public RunStatus deserialize() throws IOException {
+        return HightouchClient.MAPPER.readValue(json, RunStatus.class);
+    }
+}
@@ -1,55 +1,35 @@
 package io.kestra.plugin.hightouch;
 
 import java.io.IOException;
-import java.net.URI;
-
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
-import io.kestra.core.http.HttpRequest;
 import io.kestra.core.http.HttpResponse;
-import io.kestra.core.http.client.HttpClient;
 import io.kestra.core.http.client.HttpClientException;
 import io.kestra.core.http.client.configurations.HttpConfiguration;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.runners.RunContext;
 
-import io.micronaut.http.HttpMethod;
-import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import io.kestra.core.models.annotations.PluginProperty;
 
 @SuperBuilder
 @ToString
 @EqualsAndHashCode
 @Getter
 @NoArgsConstructor
-public abstract class AbstractHightouchConnection extends Task {
-    private static final ObjectMapper MAPPER = new ObjectMapper()
-        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-        .registerModule(new JavaTimeModule());
-
-    private static final String BASE_URL = "https://api.hightouch.com";
-
-    @Schema(title = "API Bearer token")
-    @NotNull
-    @PluginProperty(secret = true, group = "main")
+public abstract class AbstractHightouchConnection extends Task implements HightouchConnectionInterface {
     private Property<String> token;
 
-    @Schema(title = "The HTTP client configuration")
-    @PluginProperty(group = "advanced")
     protected HttpConfiguration options;
 
-    protected String baseUrl() {
-        return BASE_URL;
-    }
+    private Property<Double> rateLimit;
+
+    private Property<Integer> rateLimitBurst;
 
     /**
+     * Send a single request with a short-lived client. Prefer {@link #client(RunContext)} when issuing several calls.
+     *
      * @param method The HTTP method (GET, POST, PUT, DELETE).
      * @param path The API endpoint path.
      * @param body The request body (nullable).
@@ -61,35 +41,13 @@ public abstract class AbstractHightouchConnection extends Task {
     protected <RES> HttpResponse<RES> request(String method, String path, Object body, Class<RES> responseType, RunContext runContext)
         throws HttpClientException, IllegalVariableEvaluationException {
 
-        URI fullUri = URI.create(baseUrl() + path);
-
-        HttpRequest.HttpRequestBuilder requestBuilder = HttpRequest.builder()
-            .uri(fullUri)
-            .method(method)
-            .addHeader("Authorization", "Bearer " + runContext.render(this.token).as(String.class).orElseThrow());
-
-        if (!HttpMethod.GET.name().equalsIgnoreCase(method) && body != null) {
-            requestBuilder.addHeader("Content-Type", "application/json");
-            if (body instanceof String) {
-                requestBuilder.body(HttpRequest.StringRequestBody.builder().content((String) body).build());
-            } else {
-                requestBuilder.body(HttpRequest.JsonRequestBody.builder().content(body).build());
-            }
-        }
-
-        try (HttpClient client = new HttpClient(runContext, options)) {
-            HttpResponse<String> response = client.request(requestBuilder.build(), String.class);
-
-            RES parsedResponse = MAPPER.readValue(response.getBody(), responseType);
-            return HttpResponse.<RES> builder()
-                .request(requestBuilder.build())
-                .body(parsedResponse)
-                .headers(response.getHeaders())
-                .status(response.getStatus())
-                .build();
-
+        try (HightouchClient client = this.client(runContext)) {
+            return client.request(method, path, body, responseType);
         } catch (IOException e) {
             throw new RuntimeException("Error executing HTTP request", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the Hightouch rate limit", e);
         }
     }
 }
@@ -0,0 +1,224 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.SyncDetailsResponse;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Awaiting a sync run, shared by the tasks returning a {@link Sync.Output}: completion detection, onTimeout, progress
+ * metrics and cancellation of the awaited run when the execution is killed.
+ */
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractRunWait extends AbstractHightouchConnection implements RunnableTask<Sync.Output> {
+    @Schema(
+        title = "Maximum wait duration",
+        description = "Defaults to 5 minutes. Polls run status following `pollingPolicy` until a terminal state or this limit is reached."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> maxDuration = Property.ofValue(Duration.ofMinutes(5));
+
+    @Schema(
+        title = "Run status polling policy",
+        description = "Defaults to a 1 second interval growing by 1.5x up to 30 seconds, reset on each phase change."
+    )
+    @PluginProperty(group = "execution")
+    protected PollingPolicy pollingPolicy;
+
+    @Schema(
+        title = "Sync details cache TTL",
+        description = "Defaults to 10 minutes. Sync details (slug, configuration) are cached per worker and revalidated with ETag / If-Modified-Since once older than this; set to 0 to always fetch them."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Duration> syncDetailsCacheTtl = Property.ofValue(Duration.ofMinutes(10));
+
+    @Schema(
+        title = "How the end of the run is detected",
+        description = "Defaults to POLLING, which polls the run status following `pollingPolicy`. WEBHOOK waits for the run status to be reported by a `ReportRun` task of the same namespace, run from a Kestra Webhook trigger called by Hightouch alerting; the API is then only polled every `webhookFallbackInterval` in case a notification is lost. A reported end of run is always confirmed with one API lookup, whose run details are returned; if the API does not confirm it, the run is polled following `pollingPolicy`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Sync.Completion> completion = Property.ofValue(Sync.Completion.POLLING);
+
+    @Schema(
+        title = "Polling interval in WEBHOOK completion mode",
+        description = "Defaults to 5 minutes."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> webhookFallbackInterval = Property.ofValue(Duration.ofMinutes(5));
+
+    @Schema(
+        title = "What to do when the run is still going after maxDuration",
+        description = "Defaults to FAIL, which fails the task and leaves the run going, so that a retry reattaches to it. CANCEL cancels the run on Hightouch to release the warehouse and destination, waits up to `cancelGracePeriod` for it to end, then fails the task. DETACH stops waiting and succeeds with the runId, leaving the run going. Runs shared with other tasks through the `onAlreadyRunning` ATTACH or QUEUE of `Sync` are never cancelled."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Sync.OnTimeout> onTimeout = Property.ofValue(Sync.OnTimeout.FAIL);
+
+    @Schema(
+        title = "Time given to a cancelled run to end",
+        description = "Defaults to 1 minute. Used by `onTimeout: CANCEL`, and when the execution is killed while awaiting the run."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> cancelGracePeriod = Property.ofValue(Duration.ofMinutes(1));
+
+    @Schema(
+        title = "Minimum interval between two publications of the progress metrics",
+        description = "Defaults to 1 minute. While waiting, the completion ratio and row metrics are published as the progress made since their previous publication, so that their sum is always the latest observed value and the end of the run only adds the remainder. Set to 0 to only publish them once the run is over."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> progressMetricsInterval = Property.ofValue(Duration.ofMinutes(1));
+
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    private transient AtomicReference<Cancellation> cancellation = new AtomicReference<>();
+
+    /**
+     * Await the run until it ends or maxDuration elapses, then apply onTimeout or fail on an unsuccessful run.
+     *
+     * @param cancellable false for the runs other tasks await too, never cancelled.
+     * @param released called once the run is over or no longer awaited, so that a retry does not reattach to it.
+     */
+    protected Sync.Output await(
+        RunContext runContext,
+        SyncRunner runner,
+        String syncId,
+        Long runId,
+        SyncDetailsResponse syncDetails,
+        boolean cancellable,
+        Runnable released
+    ) throws Exception {
+        Duration rMaxDuration = runContext.render(this.maxDuration).as(Duration.class).orElseThrow();
+        Sync.OnTimeout rOnTimeout = runContext.render(this.onTimeout).as(Sync.OnTimeout.class).orElse(Sync.OnTimeout.FAIL);
+        Duration rCancelGracePeriod = runContext.render(this.cancelGracePeriod).as(Duration.class).orElse(Duration.ofMinutes(1));
+
+        if (cancellable) {
+            cancellation.set(new Cancellation(runner, runContext.logger(), syncId, runId, rCancelGracePeriod));
+        }
+
+        try {
+            RunTimeline timeline = new RunTimeline();
+            RunProgress progress = new RunProgress(runContext, runContext.render(this.progressMetricsInterval).as(Duration.class).orElse(null));
+            RunDetails finalJobStatus;
+            try {
+                if (runContext.render(this.completion).as(Sync.Completion.class).orElse(Sync.Completion.POLLING) == Sync.Completion.WEBHOOK) {
+                    finalJobStatus = runner.awaitReported(
+                        runContext,
+                        syncId,
+                        runId,
+                        syncDetails,
+                        runContext.render(this.webhookFallbackInterval).as(Duration.class).orElse(Duration.ofMinutes(5)),
+                        PollingSchedule.of(runContext, this.pollingPolicy),
+                        rMaxDuration,
+                        timeline,
+                        progress
+                    );
+                } else {
+                    finalJobStatus = runner.await(
+                        syncId,
+                        runId,
+                        syncDetails,
+                        PollingSchedule.of(runContext, this.pollingPolicy),
+                        rMaxDuration,
+                        timeline,
+                        progress
+                    );
+                }
+            } catch (TimeoutException e) {
+                return this.timedOut(runContext, released, rOnTimeout, runId, timeline, e);
+            }
+
+            // the run is over: a new attempt must not reattach to it, whatever its status
+            released.run();
+
+            timeline.metrics(runContext, finalJobStatus);
+            progress.complete(finalJobStatus);
+            runner.check(finalJobStatus);
+
+            return Sync.Output.builder()
+                .runId(runId)
+                .metadata(finalJobStatus)
+                .timeline(timeline.transitions())
+                .build();
+        } finally {
+            cancellation.set(null);
+        }
+    }
+
+    /**
+     * Apply onTimeout to a run still going after maxDuration.
+     */
+    private Sync.Output timedOut(RunContext runContext, Runnable released, Sync.OnTimeout onTimeout, Long runId, RunTimeline timeline, TimeoutException e) throws Exception {
+        if (onTimeout == Sync.OnTimeout.FAIL) {
+            throw e;
+        }
+
+        // the run is no longer ours to await: a retry must not reattach to it
+        released.run();
+
+        if (onTimeout == Sync.OnTimeout.DETACH) {
+            runContext.logger().warn("{}, detaching from runId {} which keeps running", e.getMessage(), runId);
+
+            return Sync.Output.builder()
+                .runId(runId)
+                .timeline(timeline.transitions())
+                .build();
+        }
+
+        Cancellation active = cancellation.getAndSet(null);
+        if (active == null) {
+            runContext.logger().warn("runId {} is shared with other tasks or already being cancelled, leaving it running", runId);
+            throw e;
+        }
+
+        boolean ended = active.runner().cancel(active.syncId(), runId, active.gracePeriod());
+
+        throw new TimeoutException(e.getMessage() + (ended
+            ? ", runId " + runId + " was cancelled"
+            : ", runId " + runId + " did not end within " + active.gracePeriod() + " after cancellation"
+        ));
+    }
+
+    /**
+     * Cancel the run awaited by the task when the execution is killed, unless other tasks await it too.
+     */
+    @Override
+    public void kill() {
+        Cancellation active = cancellation.getAndSet(null);
+        if (active == null) {
+            return;
+        }
+
+        try {
+            active.runner().cancel(active.syncId(), active.runId(), active.gracePeriod());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            active.logger().warn("Unable to cancel runId {} of the killed task", active.runId(), e);
+        }
+    }
+
+    private record Cancellation(SyncRunner runner, Logger logger, String syncId, Long runId, Duration gracePeriod) {
+    }
+}
@@ -0,0 +1,83 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Circuit breaker shared by every run status poll of the JVM going to the same API host.
+ * <p>
+ * After {@link #FAILURE_THRESHOLD} consecutive transient failures the circuit opens, and every waiting task backs
+ * off until it closes instead of each one hammering an API that is down. Once the open delay is over, a single trial
+ * request is let through: its success closes the circuit, its failure opens it again for twice as long, up to
+ * {@link #MAX_OPEN}.
+ */
+final class CircuitBreaker {
+    static final int FAILURE_THRESHOLD = 5;
+    static final Duration MIN_OPEN = Duration.ofSeconds(10);
+    static final Duration MAX_OPEN = Duration.ofMinutes(2);
+
+    /**
+     * How long other callers wait for the outcome of the trial request before checking again.
+     */
+    static final Duration TRIAL_WAIT = Duration.ofSeconds(1);
+
+    private static final ConcurrentMap<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    private int failures;
+    private boolean open;
+    private boolean trial;
+    private long openUntil;
+    private long openNanos = MIN_OPEN.toNanos();
+
+    static CircuitBreaker of(String host) {
+        return BREAKERS.computeIfAbsent(host, k -> new CircuitBreaker());
+    }
+
+    /**
+     * @return how long the caller must hold off before sending a request, zero if it may send one now.
+     */
+    synchronized Duration check(long now) {
+        if (!open) {
+            return Duration.ZERO;
+        }
+
+        if (now < openUntil) {
+            return Duration.ofNanos(openUntil - now);
+        }
+
+        if (trial) {
+            return TRIAL_WAIT;
+        }
+
+        trial = true;
+
+        return Duration.ZERO;
+    }
+
+    synchronized void success() {
+        failures = 0;
+        open = false;
+        trial = false;
+        openNanos = MIN_OPEN.toNanos();
+    }
+
+    synchronized void failure(long now) {
+        if (trial) {
+            trial = false;
+            openNanos = Math.min(openNanos * 2, MAX_OPEN.toNanos());
+            openUntil = now + openNanos;
+            return;
+        }
+
+        failures++;
+        if (!open && failures >= FAILURE_THRESHOLD) {
+            open = true;
+            openUntil = now + openNanos;
+        }
+    }
+
+    synchronized boolean isOpen() {
+        return open;
+    }
+}
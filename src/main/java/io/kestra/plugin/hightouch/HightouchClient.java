@@ -0,0 +1,392 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.HttpResponse;
+import io.kestra.core.http.client.HttpClient;
+import io.kestra.core.http.client.HttpClientException;
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.core.http.client.configurations.HttpConfiguration;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+import io.micronaut.http.HttpMethod;
+
+/**
+ * A session on the Hightouch API, backed by a single pooled {@link HttpClient}.
+ * <p>
+ * One instance is meant to live for a whole task execution so that the sync details lookup, the trigger and every
+ * status poll share the same keep-alive connections instead of paying a new TLS handshake per call.
+ * Always close it (try-with-resources) to release the underlying connection pool.
+ */
+final class HightouchClient implements AutoCloseable {
+    static final ObjectMapper MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .registerModule(new JavaTimeModule());
+
+    private static final int MAX_THROTTLED_RETRIES = 10;
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final RunContext runContext;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String authorization;
+    private final String key;
+    private final RateLimiter rateLimiter;
+    private final AtomicLong rateLimiterWait = new AtomicLong();
+    private final AtomicInteger rateLimitedRetries = new AtomicInteger();
+    private final HttpMetrics metrics = new HttpMetrics();
+
+    HightouchClient(RunContext runContext, String baseUrl, String token, HttpConfiguration options) throws IllegalVariableEvaluationException {
+        this(runContext, baseUrl, token, options, null, null);
+    }
+
+    /**
+     * @param rateLimit requests per second allowed for the credentials, null for the default budget.
+     * @param rateLimitBurst requests that may be sent at once, null for the default burst.
+     */
+    HightouchClient(RunContext runContext, String baseUrl, String token, HttpConfiguration options, Double rateLimit, Integer rateLimitBurst) throws IllegalVariableEvaluationException {
+        this.runContext = runContext;
+        this.client = new HttpClient(runContext, options);
+        this.baseUrl = baseUrl;
+        this.authorization = "Bearer " + token;
+        this.key = key(baseUrl, authorization);
+        this.rateLimiter = RateLimiter.of(key, rateLimit, rateLimitBurst != null ? rateLimitBurst.doubleValue() : null);
+    }
+
+    RunContext runContext() {
+        return runContext;
+    }
+
+    HttpMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * @return a stable identifier of the API endpoint and credentials, safe to use as a map key or to log.
+     */
+    String key() {
+        return key;
+    }
+
+    static String key(String baseUrl, String authorization) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(authorization.getBytes(StandardCharsets.UTF_8));
+            return baseUrl + "#" + HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param method The HTTP method (GET, POST, PUT, DELETE).
+     * @param path The API endpoint path.
+     * @param body The request body (nullable).
+     * @param responseType The expected response type.
+     * @param <RES> The response class.
+     * @return HttpResponse of type RES.
+     */
+    <RES> HttpResponse<RES> request(String method, String path, Object body, Class<RES> responseType)
+        throws HttpClientException, IllegalVariableEvaluationException, InterruptedException {
+
+        return this.request(method, path, body, responseType, Map.of());
+    }
+
+    /**
+     * Same as {@link #request(String, String, Object, Class)} with extra request headers. A {@code 304 Not Modified}
+     * answer to a conditional request is returned with a null body.
+     */
+    <RES> HttpResponse<RES> request(String method, String path, Object body, Class<RES> responseType, Map<String, String> headers)
+        throws HttpClientException, IllegalVariableEvaluationException, InterruptedException {
+
+        HttpRequest request = this.buildRequest(method, path, body, headers);
+        HttpMetrics.Endpoint endpoint = HttpMetrics.Endpoint.of(request.getUri());
+
+        AtomicReference<RES> parsed = new AtomicReference<>();
+
+        HttpResponse<?> response;
+        try {
+            response = this.send(request, endpoint, r -> client.request(r, streamed -> {
+                if (streamed.getStatus().getCode() != 304) {
+                    parsed.set(this.read(streamed, endpoint, inputStream -> MAPPER.readValue(inputStream, responseType)));
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw new RuntimeException("Error executing HTTP request", e.getCause());
+        }
+
+        return HttpResponse.<RES> builder()
+            .request(request)
+            .body(parsed.get())
+            .headers(response.getHeaders())
+            .status(response.getStatus())
+            .build();
+    }
+
+    /**
+     * Send a request and hand the response body to the decoder as a stream, without buffering it.
+     *
+     * @param method The HTTP method (GET, POST, PUT, DELETE).
+     * @param path The API endpoint path.
+     * @param body The request body (nullable).
+     * @param decoder Reads the response body; it may stop before the end of the stream.
+     * @param <RES> The decoded type.
+     * @return the value returned by the decoder.
+     */
+    <RES> RES stream(String method, String path, Object body, StreamDecoder<RES> decoder)
+        throws HttpClientException, IllegalVariableEvaluationException, InterruptedException {
+
+        return this.stream(this.prepare(method, path, body), decoder);
+    }
+
+    /**
+     * Same as {@link #stream(String, String, Object, StreamDecoder)} with a request built beforehand by
+     * {@link #prepare(String, String, Object)}, for requests sent over and over such as status polls.
+     */
+    <RES> RES stream(HttpRequest request, StreamDecoder<RES> decoder)
+        throws HttpClientException, IllegalVariableEvaluationException, InterruptedException {
+
+        HttpMetrics.Endpoint endpoint = HttpMetrics.Endpoint.of(request.getUri());
+        AtomicReference<RES> decoded = new AtomicReference<>();
+
+        try {
+            this.send(request, endpoint, r -> client.request(r, response -> decoded.set(this.read(response, endpoint, decoder))));
+        } catch (UncheckedIOException e) {
+            throw new RuntimeException("Error executing HTTP request", e.getCause());
+        }
+
+        return decoded.get();
+    }
+
+    /**
+     * Same as {@link #stream(HttpRequest, StreamDecoder)} for idempotent requests, sending a duplicate request when
+     * the first one has not answered after hedgeAfter. The first successful answer wins; the call only fails if both
+     * requests failed.
+     */
+    <RES> RES hedged(HttpRequest request, StreamDecoder<RES> decoder, Duration hedgeAfter) throws Exception {
+        CompletableFuture<RES> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        List<Thread> attempts = new ArrayList<>(2);
+
+        attempts.add(this.attempt(request, decoder, winner, pending));
+
+        try {
+            try {
+                return winner.get(hedgeAfter.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                pending.incrementAndGet();
+                metrics.hedged(HttpMetrics.Endpoint.of(request.getUri()));
+                attempts.add(this.attempt(request, decoder, winner, pending));
+
+                return winner.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+
+            throw e;
+        } finally {
+            // the loser is abandoned, its answer is not needed anymore
+            attempts.forEach(Thread::interrupt);
+        }
+    }
+
+    private <RES> Thread attempt(HttpRequest request, StreamDecoder<RES> decoder, CompletableFuture<RES> winner, AtomicInteger pending) {
+        return Thread.ofVirtual().name("hightouch-hedged-request").start(() -> {
+            try {
+                winner.complete(this.stream(request, decoder));
+            } catch (Exception e) {
+                if (pending.decrementAndGet() == 0) {
+                    winner.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Decompress the body according to its {@code Content-Encoding} while it is decoded, counting the bytes on both
+     * sides of the decompression. A body already decompressed by the underlying client comes without the header.
+     */
+    private <RES> RES read(HttpResponse<InputStream> response, HttpMetrics.Endpoint endpoint, StreamDecoder<RES> decoder) {
+        InputStream body = response.getBody() != null ? response.getBody() : InputStream.nullInputStream();
+
+        try (
+            CountingInputStream wire = new CountingInputStream(body);
+            CountingInputStream inputStream = new CountingInputStream(decompress(wire, response.getHeaders()))
+        ) {
+            RES decoded = decoder.decode(inputStream);
+            metrics.received(endpoint, wire.count(), inputStream.count());
+
+            return decoded;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static InputStream decompress(InputStream inputStream, HttpHeaders headers) throws IOException {
+        String encoding = headers.firstValue("Content-Encoding")
+            .map(value -> value.trim().toLowerCase(Locale.ROOT))
+            .orElse("identity");
+
+        return switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(inputStream, BUFFER_SIZE);
+            case "deflate" -> new InflaterInputStream(inputStream, new Inflater(), BUFFER_SIZE);
+            default -> inputStream;
+        };
+    }
+
+    /**
+     * Send through the rate limiter shared by every client using the same token. A 429 means the request was not
+     * processed, so it is queued again after the delay requested by the API, even for the non-idempotent trigger.
+     */
+    private <T> HttpResponse<T> send(HttpRequest request, HttpMetrics.Endpoint endpoint, Exchange<T> exchange) throws HttpClientException, IllegalVariableEvaluationException, InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            rateLimiterWait.addAndGet(rateLimiter.acquire().toNanos());
+
+            long start = System.nanoTime();
+            try {
+                HttpResponse<T> response = exchange.exchange(request);
+                metrics.request(endpoint, System.nanoTime() - start, response.getStatus().getCode());
+                rateLimiter.update(response.getHeaders());
+
+                return response;
+            } catch (HttpClientResponseException e) {
+                metrics.request(endpoint, System.nanoTime() - start, e.getResponse() != null ? e.getResponse().getStatus().getCode() : 0);
+
+                if (e.getResponse() == null || e.getResponse().getStatus().getCode() != 429 || attempt >= MAX_THROTTLED_RETRIES) {
+                    throw e;
+                }
+
+                Duration delay = rateLimiter.throttled(e.getResponse().getHeaders());
+                rateLimitedRetries.incrementAndGet();
+                runContext.logger().debug("[Hightouch] Rate limited on {}, retrying in {}", request.getUri().getPath(), delay);
+            } catch (HttpClientException | RuntimeException e) {
+                metrics.request(endpoint, System.nanoTime() - start, 0);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Build a request once, to send it several times: requests are immutable and carry the rendered credentials.
+     */
+    HttpRequest prepare(String method, String path, Object body) {
+        return this.buildRequest(method, path, body, Map.of());
+    }
+
+    private HttpRequest buildRequest(String method, String path, Object body, Map<String, String> headers) {
+        HttpRequest.HttpRequestBuilder requestBuilder = HttpRequest.builder()
+            .uri(URI.create(baseUrl + path))
+            .method(method)
+            .addHeader("Authorization", authorization)
+            .addHeader("Accept-Encoding", ACCEPT_ENCODING);
+
+        headers.forEach(requestBuilder::addHeader);
+
+        if (!HttpMethod.GET.name().equalsIgnoreCase(method) && body != null) {
+            requestBuilder.addHeader("Content-Type", "application/json");
+            if (body instanceof String) {
+                requestBuilder.body(HttpRequest.StringRequestBody.builder().content((String) body).build());
+            } else {
+                requestBuilder.body(HttpRequest.JsonRequestBody.builder().content(body).build());
+            }
+        }
+
+        return requestBuilder.build();
+    }
+
+    @FunctionalInterface
+    interface StreamDecoder<T> {
+        T decode(InputStream inputStream) throws IOException;
+    }
+
+    /**
+     * Counts the bytes actually read by a decoder, which may stop before the end of the body.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+
+            return skipped;
+        }
+
+        long count() {
+            return count;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Exchange<T> {
+        HttpResponse<T> exchange(HttpRequest request) throws HttpClientException, IllegalVariableEvaluationException;
+    }
+
+    @Override
+    public void close() throws IOException {
+        runContext.metric(Timer.of(HttpMetrics.RATE_LIMITER_WAIT, Duration.ofNanos(rateLimiterWait.get())));
+        runContext.metric(Counter.of(HttpMetrics.RATE_LIMITED_RETRIES, rateLimitedRetries.get()));
+        metrics.emit(runContext);
+
+        client.close();
+    }
+}
@@ -0,0 +1,61 @@
+package io.kestra.plugin.hightouch;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.http.client.configurations.HttpConfiguration;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Connection properties shared by the tasks and the trigger calling the Hightouch API.
+ */
+public interface HightouchConnectionInterface {
+    String BASE_URL = "https://api.hightouch.com";
+
+    @Schema(title = "API Bearer token")
+    @NotNull
+    @PluginProperty(secret = true, group = "main")
+    Property<String> getToken();
+
+    @Schema(title = "The HTTP client configuration")
+    @PluginProperty(group = "advanced")
+    HttpConfiguration getOptions();
+
+    @Schema(
+        title = "Hightouch API requests per second",
+        description = "Defaults to 10. The budget is shared by every task of the worker using the same token; set it to the rate limit of your Hightouch plan. Tasks setting another value change the shared budget in place, without refilling it: the last value set applies to every task using the token."
+    )
+    @PluginProperty(group = "advanced")
+    Property<Double> getRateLimit();
+
+    @Schema(
+        title = "Hightouch API request burst",
+        description = "Defaults to 20. Number of requests that may be sent at once before being spread at `rateLimit`."
+    )
+    @PluginProperty(group = "advanced")
+    Property<Integer> getRateLimitBurst();
+
+    default String baseUrl() {
+        return BASE_URL;
+    }
+
+    /**
+     * Open a {@link HightouchClient} for the whole execution; callers are responsible for closing it.
+     *
+     * @param runContext The Kestra run context.
+     * @return a client sharing one connection pool across all its requests.
+     */
+    default HightouchClient client(RunContext runContext) throws IllegalVariableEvaluationException {
+        return new HightouchClient(
+            runContext,
+            this.baseUrl(),
+            runContext.render(this.getToken()).as(String.class).orElseThrow(),
+            this.getOptions(),
+            runContext.render(this.getRateLimit()).as(Double.class).orElse(null),
+            runContext.render(this.getRateLimitBurst()).as(Integer.class).orElse(null)
+        );
+    }
+}
@@ -0,0 +1,187 @@
+package io.kestra.plugin.hightouch;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Instrumentation of the calls made by a {@link HightouchClient}, per logical endpoint.
+ * <p>
+ * Calls may come from the worker-wide poller threads, so observations are accumulated here and only turned into
+ * metrics on the task thread, when the client is closed.
+ */
+final class HttpMetrics {
+    /*
+     * Names and descriptions of the metrics of every task calling the API, referenced by their @Metric annotations so
+     * that the documentation of the tasks cannot drift apart.
+     */
+    static final String RATE_LIMITER_WAIT = "rate.limiter.wait";
+    static final String RATE_LIMITER_WAIT_DESCRIPTION = "Time spent waiting for the shared Hightouch API rate limit.";
+
+    static final String RATE_LIMITED_RETRIES = "rate.limited.retries";
+    static final String RATE_LIMITED_RETRIES_DESCRIPTION = "Number of requests queued again after a 429 response.";
+
+    static final String REQUEST_DURATION = "http.request.duration";
+    static final String REQUEST_DURATION_DESCRIPTION = "Total time spent in Hightouch API calls, tagged by endpoint (sync.details, syncs.list, trigger, cancel, run.status, runs.list, other).";
+
+    static final String REQUESTS = "http.requests";
+    static final String REQUESTS_DESCRIPTION = "Number of Hightouch API calls, tagged by endpoint.";
+
+    static final String RESPONSE_SIZE = "http.response.size";
+    static final String RESPONSE_SIZE_DESCRIPTION = "Bytes of Hightouch API responses read, after decompression, tagged by endpoint.";
+
+    static final String RESPONSE_WIRE_SIZE = "http.response.wire.size";
+    static final String RESPONSE_WIRE_SIZE_DESCRIPTION = "Bytes of Hightouch API responses received, before decompression, tagged by endpoint.";
+
+    static final String RESPONSES = "http.responses";
+    static final String RESPONSES_DESCRIPTION = "Number of Hightouch API responses, tagged by HTTP status code.";
+
+    static final String POLLS = "polls";
+    static final String POLLS_DESCRIPTION = "Number of run status lookups made while waiting.";
+
+    static final String POLL_RETRIES = "poll.retries";
+    static final String POLL_RETRIES_DESCRIPTION = "Number of run status lookups that failed transiently and were tried again.";
+
+    static final String HEDGED_REQUESTS = "http.hedged.requests";
+    static final String HEDGED_REQUESTS_DESCRIPTION = "Number of duplicate requests sent because a run status lookup was slow, tagged by endpoint.";
+
+    enum Endpoint {
+        SYNC_DETAILS("sync.details"),
+        SYNCS("syncs.list"),
+        TRIGGER("trigger"),
+        CANCEL("cancel"),
+        RUN_STATUS("run.status"),
+        RUNS("runs.list"),
+        OTHER("other");
+
+        private final String tag;
+
+        Endpoint(String tag) {
+            this.tag = tag;
+        }
+
+        String tag() {
+            return tag;
+        }
+
+        static Endpoint of(URI uri) {
+            String path = uri.getPath();
+
+            if (path.endsWith("/trigger")) {
+                return TRIGGER;
+            }
+
+            if (path.endsWith("/cancel")) {
+                return CANCEL;
+            }
+
+            if (path.endsWith("/runs")) {
+                String query = uri.getRawQuery();
+                return query != null && query.contains("runId=") ? RUN_STATUS : RUNS;
+            }
+
+            if (path.endsWith("/syncs")) {
+                return SYNCS;
+            }
+
+            if (path.contains("/syncs/")) {
+                return SYNC_DETAILS;
+            }
+
+            return OTHER;
+        }
+    }
+
+    private final Map<Endpoint, Stats> endpoints = new EnumMap<>(Endpoint.class);
+    private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder pollRetries = new LongAdder();
+
+    HttpMetrics() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpoints.put(endpoint, new Stats());
+        }
+    }
+
+    /**
+     * @param status the HTTP status code, 0 if no response was received.
+     */
+    void request(Endpoint endpoint, long nanos, int status) {
+        Stats stats = endpoints.get(endpoint);
+        stats.requests.increment();
+        stats.nanos.add(nanos);
+
+        if (status > 0) {
+            statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * @param wireBytes the bytes read from the connection, still compressed if the response was.
+     * @param bytes the bytes handed to the decoder.
+     */
+    void received(Endpoint endpoint, long wireBytes, long bytes) {
+        Stats stats = endpoints.get(endpoint);
+        stats.wireBytes.add(wireBytes);
+        stats.bytes.add(bytes);
+    }
+
+    void polled(int count) {
+        polls.add(count);
+    }
+
+    /**
+     * @param count the number of status lookups that failed transiently and were tried again.
+     */
+    void retried(int count) {
+        pollRetries.add(count);
+    }
+
+    void hedged(Endpoint endpoint) {
+        endpoints.get(endpoint).hedges.increment();
+    }
+
+    void emit(RunContext runContext) {
+        endpoints.forEach((endpoint, stats) -> {
+            long requests = stats.requests.sum();
+            if (requests == 0) {
+                return;
+            }
+
+            runContext.metric(Timer.of(REQUEST_DURATION, Duration.ofNanos(stats.nanos.sum()), "endpoint", endpoint.tag));
+            runContext.metric(Counter.of(REQUESTS, requests, "endpoint", endpoint.tag));
+            runContext.metric(Counter.of(RESPONSE_SIZE, stats.bytes.sum(), "endpoint", endpoint.tag));
+            runContext.metric(Counter.of(RESPONSE_WIRE_SIZE, stats.wireBytes.sum(), "endpoint", endpoint.tag));
+
+            if (stats.hedges.sum() > 0) {
+                runContext.metric(Counter.of(HEDGED_REQUESTS, stats.hedges.sum(), "endpoint", endpoint.tag));
+            }
+        });
+
+        statuses.forEach((status, count) -> runContext.metric(Counter.of(RESPONSES, count.sum(), "status", String.valueOf(status))));
+
+        if (polls.sum() > 0) {
+            runContext.metric(Counter.of(POLLS, polls.sum()));
+        }
+
+        if (pollRetries.sum() > 0) {
+            runContext.metric(Counter.of(POLL_RETRIES, pollRetries.sum()));
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder wireBytes = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder hedges = new LongAdder();
+    }
+}
@@ -0,0 +1,49 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+/**
+ * Small JSON-object state persisted in the KV store of the flow namespace.
+ */
+final class KvState {
+    private KvState() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static Optional<Map<String, Object>> get(RunContext runContext, String key) throws Exception {
+        return store(runContext).getValue(key)
+            .map(KVValue::value)
+            .filter(Map.class::isInstance)
+            .map(value -> (Map<String, Object>) value);
+    }
+
+    /**
+     * @param ttl null to keep the state until it is overwritten or deleted.
+     */
+    static void put(RunContext runContext, String key, Map<String, Object> value, String description, Duration ttl) throws Exception {
+        store(runContext).put(key, new KVValueAndMetadata(new KVMetadata(description, ttl), value));
+    }
+
+    static void delete(RunContext runContext, String key) throws Exception {
+        store(runContext).delete(key);
+    }
+
+    /**
+     * Keys only accept letters, digits, dots, dashes and underscores.
+     */
+    static String key(String... parts) {
+        return String.join("_", parts).replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
+
+    private static KVStore store(RunContext runContext) {
+        return runContext.namespaceKv(runContext.flowInfo().namespace());
+    }
+}
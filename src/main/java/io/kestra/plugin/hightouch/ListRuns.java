@@ -0,0 +1,411 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.*;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.hightouch.models.RunDetails;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Export Hightouch sync run history",
+    description = "Walks the runs of each sync page by page and writes every finished run to an ION file in internal storage, one row at a time. With incremental=true (default) a watermark per sync is kept in the namespace KV store so that later executions only fetch runs created since the previous one. Runs still in progress are skipped and the watermark never moves past them, so they are exported once finished; the finished runs created after them are remembered by id so that they are never exported twice."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            title = "Export new runs of two syncs every night",
+            code = """
+                id: hightouch_runs_history
+                namespace: company.team
+
+                tasks:
+                  - id: runs
+                    type: io.kestra.plugin.hightouch.ListRuns
+                    token: "{{ secret('HIGHTOUCH_API_TOKEN') }}"
+                    syncIds:
+                      - 1127166
+                      - 1127167
+
+                triggers:
+                  - id: nightly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 2 * * *"
+                """
+        )
+    },
+    metrics = {
+        @Metric(
+            name = "records",
+            type = Counter.TYPE,
+            description = "Number of runs written to the output file, tagged by syncId."
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITER_WAIT,
+            type = Timer.TYPE,
+            description = HttpMetrics.RATE_LIMITER_WAIT_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITED_RETRIES,
+            type = Counter.TYPE,
+            description = HttpMetrics.RATE_LIMITED_RETRIES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUEST_DURATION,
+            type = Timer.TYPE,
+            description = HttpMetrics.REQUEST_DURATION_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUESTS,
+            type = Counter.TYPE,
+            description = HttpMetrics.REQUESTS_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSE_SIZE,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSE_SIZE_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSE_WIRE_SIZE,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSE_WIRE_SIZE_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSES,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSES_DESCRIPTION
+        )
+    }
+)
+public class ListRuns extends AbstractHightouchConnection implements RunnableTask<ListRuns.Output> {
+    @Schema(
+        title = "Hightouch sync IDs",
+        description = "Required numeric IDs of the syncs to export runs from."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<List<Long>> syncIds;
+
+    @Schema(
+        title = "Only fetch runs created since the previous execution",
+        description = "Default true. The watermark of each sync is stored in the KV store under `<stateKey>_<syncId>`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> incremental = Property.ofValue(true);
+
+    @Schema(
+        title = "KV store key prefix of the watermarks",
+        description = "Defaults to `hightouch_runs`. Use distinct prefixes for flows of the same namespace exporting the same syncs independently."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<String> stateKey = Property.ofValue("hightouch_runs");
+
+    @Schema(
+        title = "Number of runs requested per page",
+        description = "Defaults to 100."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageSize = Property.ofValue(100);
+
+    @Override
+    public ListRuns.Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        List<Long> rSyncIds = runContext.render(this.syncIds).asList(Long.class);
+        boolean rIncremental = runContext.render(this.incremental).as(Boolean.class).orElse(true);
+        String rStateKey = runContext.render(this.stateKey).as(String.class).orElse("hightouch_runs");
+        int rPageSize = runContext.render(this.pageSize).as(Integer.class).orElse(100);
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        AtomicLong total = new AtomicLong();
+
+        try (
+            HightouchClient client = this.client(runContext);
+            OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)
+        ) {
+            SyncRunner runner = new SyncRunner(client, logger);
+
+            for (Long syncId : rSyncIds) {
+                String key = KvState.key(rStateKey, String.valueOf(syncId));
+                Watermark watermark = rIncremental ? KvState.get(runContext, key).map(Watermark::of).orElse(null) : null;
+                Watermark.Builder next = new Watermark.Builder(watermark);
+                Cursor cursor = new Cursor();
+                AtomicLong count = new AtomicLong();
+
+                String query = watermark == null ? "" : "after=" + URLEncoder.encode(watermark.createdAt().toString(), StandardCharsets.UTF_8);
+
+                runner.paginateRuns(String.valueOf(syncId), query, rPageSize, run -> {
+                    if (run.getCreatedAt() == null || !cursor.advance(run) || (watermark != null && !watermark.isBefore(run))) {
+                        return true;
+                    }
+
+                    if (!SyncRunner.ENDED_STATUS.contains(run.getStatus())) {
+                        next.pending(run);
+                        return true;
+                    }
+
+                    next.ended(run);
+
+                    if (watermark != null && watermark.covers(run)) {
+                        return true;
+                    }
+
+                    try {
+                        FileSerde.write(output, run);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+
+                    count.incrementAndGet();
+
+                    return true;
+                });
+
+                if (next.isIncomplete()) {
+                    // a run still in progress showed up below finished runs that were only counted in the position:
+                    // read the page walk again to remember them by id
+                    Cursor again = new Cursor();
+                    runner.paginateRuns(String.valueOf(syncId), query, rPageSize, run -> {
+                        if (run.getCreatedAt() != null && again.advance(run)) {
+                            next.recover(run);
+                        }
+
+                        return true;
+                    });
+                }
+
+                Watermark updated = next.build();
+                if (rIncremental && updated != null && !updated.equals(watermark)) {
+                    KvState.put(runContext, key, updated.toMap(), "Hightouch runs watermark of sync " + syncId, null);
+                }
+
+                logger.info("[syncId={}] {} runs exported, watermark {}", syncId, count.get(), updated);
+                runContext.metric(Counter.of("records", count.get(), "syncId", String.valueOf(syncId)));
+                total.addAndGet(count.get());
+            }
+        }
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .size(total.get())
+            .build();
+    }
+
+    /**
+     * Position up to which every run was exported, ordered by creation time then id, and the ids of the runs created
+     * after it that were already exported because an older run was still in progress.
+     */
+    record Watermark(Instant createdAt, Long runId, Set<Long> exportedIds) {
+        static Watermark of(Map<String, Object> value) {
+            Object createdAt = value.get("createdAt");
+            Object runId = value.get("runId");
+
+            if (createdAt == null) {
+                return null;
+            }
+
+            Set<Long> exportedIds = new TreeSet<>();
+            if (value.get("exportedIds") instanceof List<?> ids) {
+                ids.forEach(id -> {
+                    if (id instanceof Number number) {
+                        exportedIds.add(number.longValue());
+                    }
+                });
+            }
+
+            return new Watermark(Instant.parse(createdAt.toString()), runId instanceof Number number ? number.longValue() : null, exportedIds);
+        }
+
+        boolean isBefore(RunDetails run) {
+            return this.isBefore(run.getCreatedAt(), run.getId());
+        }
+
+        boolean isBefore(Instant otherCreatedAt, Long otherRunId) {
+            int compare = createdAt.compareTo(otherCreatedAt);
+            if (compare != 0) {
+                return compare < 0;
+            }
+
+            return runId == null || (otherRunId != null && runId < otherRunId);
+        }
+
+        /**
+         * @return true if the run was exported by a previous execution.
+         */
+        boolean covers(RunDetails run) {
+            return !this.isBefore(run) || exportedIds.contains(run.getId());
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("createdAt", createdAt.toString());
+            map.put("runId", runId);
+            map.put("exportedIds", List.copyOf(new TreeSet<>(exportedIds)));
+            return map;
+        }
+
+        /**
+         * Fed with the runs of one page walk, newest first. Only the newest finished run below the oldest run in
+         * progress is kept, the older ones being covered by its position; the finished runs created after a run in
+         * progress are kept by id.
+         */
+        static final class Builder {
+            private final Watermark current;
+            private final Set<Long> pendingIds = new HashSet<>();
+            private final Set<Long> exportedIds = new TreeSet<>();
+            private Instant oldestPending;
+            private Watermark floor;
+            private boolean floorCovers;
+            private Instant forgottenBefore;
+
+            Builder(Watermark current) {
+                this.current = current;
+            }
+
+            /**
+             * @param run a finished run after the current position, exported by this execution or a previous one.
+             */
+            void ended(RunDetails run) {
+                if (oldestPending != null && !run.getCreatedAt().isBefore(oldestPending)) {
+                    exportedIds.add(run.getId());
+                } else if (floor == null || floor.isBefore(run)) {
+                    floor = new Watermark(run.getCreatedAt(), run.getId(), Set.of());
+                } else {
+                    floorCovers = true;
+                }
+            }
+
+            void pending(RunDetails run) {
+                pendingIds.add(run.getId());
+
+                if (oldestPending != null && !run.getCreatedAt().isBefore(oldestPending)) {
+                    return;
+                }
+
+                oldestPending = run.getCreatedAt();
+
+                if (floor != null && !floor.createdAt().isBefore(oldestPending)) {
+                    exportedIds.add(floor.runId());
+
+                    if (floorCovers && (forgottenBefore == null || forgottenBefore.isBefore(floor.createdAt()))) {
+                        forgottenBefore = floor.createdAt();
+                    }
+
+                    floor = null;
+                    floorCovers = false;
+                }
+            }
+
+            /**
+             * @return true if finished runs only covered by a position now above a run in progress must be read again
+             * with {@link #recover(RunDetails)}.
+             */
+            boolean isIncomplete() {
+                return forgottenBefore != null;
+            }
+
+            /**
+             * @param run a run of the same page walk, read again.
+             */
+            void recover(RunDetails run) {
+                if (
+                    SyncRunner.ENDED_STATUS.contains(run.getStatus()) &&
+                        !pendingIds.contains(run.getId()) &&
+                        !run.getCreatedAt().isBefore(oldestPending) &&
+                        run.getCreatedAt().isBefore(forgottenBefore)
+                ) {
+                    exportedIds.add(run.getId());
+                }
+            }
+
+            /**
+             * Never move past a run still in progress: the finished runs created after it are remembered by id
+             * instead, so that they are not exported again.
+             */
+            Watermark build() {
+                Watermark position = floor != null ? floor : current != null ? new Watermark(current.createdAt(), current.runId(), Set.of()) : null;
+
+                if (exportedIds.isEmpty()) {
+                    return position;
+                }
+
+                if (position == null) {
+                    position = new Watermark(oldestPending.minusNanos(1), null, Set.of());
+                }
+
+                return new Watermark(position.createdAt(), position.runId(), Set.copyOf(exportedIds));
+            }
+        }
+    }
+
+    /**
+     * Position of a page walk over runs listed newest first. Runs created while walking shift the next pages, so the
+     * runs already read show up again: only the runs older than the last one read, or sharing its creation time under
+     * another id, are new.
+     */
+    static final class Cursor {
+        private final Set<Long> boundaryIds = new HashSet<>();
+        private Instant createdAt;
+
+        /**
+         * @return false if the run was already read by this walk, or was created after it started.
+         */
+        boolean advance(RunDetails run) {
+            if (createdAt == null || run.getCreatedAt().isBefore(createdAt)) {
+                createdAt = run.getCreatedAt();
+                boundaryIds.clear();
+                boundaryIds.add(run.getId());
+                return true;
+            }
+
+            return createdAt.equals(run.getCreatedAt()) && boundaryIds.add(run.getId());
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of the ION file",
+            description = "One RunDetails row per finished run."
+        )
+        private final URI uri;
+
+        @Schema(title = "Number of exported runs")
+        private final Long size;
+    }
+}
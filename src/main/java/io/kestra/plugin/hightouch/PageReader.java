@@ -0,0 +1,76 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.kestra.plugin.hightouch.models.RunDetails;
+
+/**
+ * Incremental decoder for the paginated listings of the API, {@code {"data": [...], "hasMore": ...}}, such as
+ * {@link io.kestra.plugin.hightouch.models.RunDetailsResponse}.
+ * <p>
+ * Items are decoded one at a time from the response stream and handed to a consumer, so that a listing is never held
+ * in memory as a whole and decoding stops as soon as the consumer has what it needs.
+ */
+final class PageReader {
+    private PageReader() {
+    }
+
+    /**
+     * @param consumer called for each item of {@code data}; return false to stop reading.
+     * @return whether another page is available, null if the stream was not read until {@code hasMore}.
+     */
+    static <T> Boolean read(InputStream inputStream, Class<T> type, Predicate<T> consumer) throws IOException {
+        try (JsonParser parser = HightouchClient.MAPPER.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object, got " + parser.currentToken());
+            }
+
+            Boolean hasMore = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        if (!consumer.test(parser.readValueAs(type))) {
+                            return hasMore;
+                        }
+                    }
+                } else if ("hasMore".equals(field)) {
+                    hasMore = value == JsonToken.VALUE_NULL ? null : parser.getValueAsBoolean();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return hasMore;
+        }
+    }
+
+    static Boolean read(InputStream inputStream, Predicate<RunDetails> consumer) throws IOException {
+        return read(inputStream, RunDetails.class, consumer);
+    }
+
+    /**
+     * @return the run with the given id, reading no further than needed.
+     */
+    static RunDetails find(InputStream inputStream, Long runId) throws IOException {
+        RunDetails[] found = new RunDetails[1];
+
+        read(inputStream, run -> {
+            if (runId.equals(run.getId())) {
+                found[0] = run;
+                return false;
+            }
+
+            return true;
+        });
+
+        return found[0];
+    }
+}
@@ -0,0 +1,82 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Builder
+@Jacksonized
+@Schema(
+    title = "Run status polling policy",
+    description = "Controls how often the run status is fetched while waiting. The interval starts at the phase interval, grows by `multiplier` on each unchanged poll up to `maxInterval`, and is reset whenever the run changes phase."
+)
+public class PollingPolicy {
+    @Schema(
+        title = "Minimum interval between two polls",
+        description = "Defaults to 1 second."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> minInterval = Property.ofValue(Duration.ofSeconds(1));
+
+    @Schema(
+        title = "Maximum interval between two polls",
+        description = "Defaults to 30 seconds. Backoff and ETA predictions never wait longer than this."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> maxInterval = Property.ofValue(Duration.ofSeconds(30));
+
+    @Schema(
+        title = "Backoff multiplier",
+        description = "Defaults to 1.5. Factor applied to the interval after each poll that did not change the run phase; 1 disables backoff."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Double> multiplier = Property.ofValue(1.5);
+
+    @Schema(
+        title = "Jitter ratio",
+        description = "Defaults to 0.1. Each interval is randomly spread by up to this fraction so that concurrent syncs do not poll in lockstep."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Double> jitter = Property.ofValue(0.1);
+
+    @Schema(
+        title = "Initial interval while the run is pending",
+        description = "Used while the run is not visible yet or is `queued` / `querying`. Defaults to `minInterval`."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Duration> pendingInterval;
+
+    @Schema(
+        title = "Initial interval while the run is processing",
+        description = "Used while the run is `processing` / `reporting`. Defaults to `minInterval`."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Duration> processingInterval;
+
+    @Schema(
+        title = "Predict the next poll from run progress",
+        description = "Default false. When true, the interval is derived from the elapsed time and `completionRatio` (or planned vs processed rows) to poll about twice before the estimated end of the run, bounded by `minInterval` and `maxInterval`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> eta = Property.ofValue(false);
+
+    @Schema(
+        title = "Hedge slow status lookups",
+        description = "Defaults to 3 seconds. When a status lookup has not answered after this delay, a duplicate request is sent and the first answer wins; set to 0 to disable."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> hedgeAfter = Property.ofValue(Duration.ofSeconds(3));
+}
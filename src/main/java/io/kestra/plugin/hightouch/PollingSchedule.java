@@ -0,0 +1,183 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.ModifiedRows;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+/**
+ * Rendered, stateful counterpart of a {@link PollingPolicy} for a single run: computes the delay before the next poll
+ * from the last observed {@link RunDetails}.
+ */
+class PollingSchedule {
+    enum Phase {
+        PENDING,
+        PROCESSING
+    }
+
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final double multiplier;
+    private final double jitter;
+    private final Duration pendingInterval;
+    private final Duration processingInterval;
+    private final boolean eta;
+    private final Duration hedgeAfter;
+
+    private Phase phase;
+    private Duration current;
+
+    PollingSchedule(Duration minInterval, Duration maxInterval, double multiplier, double jitter, Duration pendingInterval, Duration processingInterval, boolean eta) {
+        this(minInterval, maxInterval, multiplier, jitter, pendingInterval, processingInterval, eta, null);
+    }
+
+    /**
+     * @param hedgeAfter null to never hedge status lookups.
+     */
+    PollingSchedule(Duration minInterval, Duration maxInterval, double multiplier, double jitter, Duration pendingInterval, Duration processingInterval, boolean eta, Duration hedgeAfter) {
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval.compareTo(minInterval) < 0 ? minInterval : maxInterval;
+        this.multiplier = Math.max(1.0, multiplier);
+        this.jitter = Math.min(1.0, Math.max(0.0, jitter));
+        this.pendingInterval = pendingInterval != null ? pendingInterval : minInterval;
+        this.processingInterval = processingInterval != null ? processingInterval : minInterval;
+        this.eta = eta;
+        this.hedgeAfter = hedgeAfter != null && hedgeAfter.isPositive() ? hedgeAfter : null;
+    }
+
+    static PollingSchedule of(RunContext runContext, PollingPolicy policy) throws IllegalVariableEvaluationException {
+        if (policy == null) {
+            policy = PollingPolicy.builder().build();
+        }
+
+        Duration minInterval = runContext.render(policy.getMinInterval()).as(Duration.class).orElse(Duration.ofSeconds(1));
+
+        return new PollingSchedule(
+            minInterval,
+            runContext.render(policy.getMaxInterval()).as(Duration.class).orElse(Duration.ofSeconds(30)),
+            runContext.render(policy.getMultiplier()).as(Double.class).orElse(1.5),
+            runContext.render(policy.getJitter()).as(Double.class).orElse(0.1),
+            runContext.render(policy.getPendingInterval()).as(Duration.class).orElse(null),
+            runContext.render(policy.getProcessingInterval()).as(Duration.class).orElse(null),
+            runContext.render(policy.getEta()).as(Boolean.class).orElse(false),
+            runContext.render(policy.getHedgeAfter()).as(Duration.class).orElse(null)
+        );
+    }
+
+    /**
+     * @return the delay after which a slow status lookup is duplicated, null to never hedge.
+     */
+    Duration hedgeAfter() {
+        return hedgeAfter;
+    }
+
+    /**
+     * @param run the last observed run, null if it is not visible yet.
+     * @param now the time the run was observed.
+     * @return the delay to wait before polling again.
+     */
+    Duration next(RunDetails run, Instant now) {
+        Phase observed = phase(run);
+
+        if (observed != phase || current == null) {
+            phase = observed;
+            current = clamp(observed == Phase.PROCESSING ? processingInterval : pendingInterval);
+        } else {
+            current = clamp(Duration.ofMillis((long) (current.toMillis() * multiplier)));
+        }
+
+        Duration interval = current;
+        if (eta) {
+            Duration predicted = predict(run, now);
+            if (predicted != null) {
+                interval = predicted;
+            }
+        }
+
+        return clamp(withJitter(interval));
+    }
+
+    /**
+     * Estimate the remaining time from the progress made since the run started, and return half of it so that the
+     * end of the run is not overshot by more than the remaining estimate error.
+     */
+    private Duration predict(RunDetails run, Instant now) {
+        if (run == null || run.getStartedAt() == null || phase != Phase.PROCESSING) {
+            return null;
+        }
+
+        double ratio = completion(run);
+        if (ratio <= 0.0 || ratio >= 1.0) {
+            return null;
+        }
+
+        long elapsed = Duration.between(run.getStartedAt(), now).toMillis();
+        if (elapsed <= 0) {
+            return null;
+        }
+
+        long remaining = (long) (elapsed * (1.0 - ratio) / ratio);
+
+        return clamp(Duration.ofMillis(remaining / 2));
+    }
+
+    private static double completion(RunDetails run) {
+        if (run.getCompletionRatio() != null) {
+            return run.getCompletionRatio() / 100.0;
+        }
+
+        long planned = total(run.getPlannedRows());
+        if (planned <= 0) {
+            return 0.0;
+        }
+
+        return (double) (total(run.getSuccessfulRows()) + total(run.getFailedRows())) / planned;
+    }
+
+    static long total(ModifiedRows rows) {
+        if (rows == null) {
+            return 0;
+        }
+
+        return value(rows.getAddedCount()) + value(rows.getChangedCount()) + value(rows.getRemovedCount());
+    }
+
+    private static long value(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    private Duration withJitter(Duration interval) {
+        if (jitter == 0.0) {
+            return interval;
+        }
+
+        double spread = 1.0 + jitter * (ThreadLocalRandom.current().nextDouble() * 2.0 - 1.0);
+
+        return Duration.ofMillis((long) (interval.toMillis() * spread));
+    }
+
+    private Duration clamp(Duration interval) {
+        if (interval.compareTo(minInterval) < 0) {
+            return minInterval;
+        }
+
+        if (interval.compareTo(maxInterval) > 0) {
+            return maxInterval;
+        }
+
+        return interval;
+    }
+
+    static Phase phase(RunDetails run) {
+        if (run == null || run.getStatus() == null) {
+            return Phase.PENDING;
+        }
+
+        return run.getStatus() == RunStatus.QUEUED || run.getStatus() == RunStatus.QUERYING ? Phase.PENDING : Phase.PROCESSING;
+    }
+}
@@ -0,0 +1,138 @@
+package io.kestra.plugin.hightouch;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch with a bounded relative error, over non-negative values.
+ * <p>
+ * Values are counted in logarithmic buckets, so that any quantile is estimated within {@code relativeAccuracy} of
+ * the true value whatever the number of values, and memory only grows with the logarithm of the value range. Should
+ * the range be so wide that more than {@link #MAX_BUCKETS} buckets are needed, the lowest buckets are merged, which
+ * only degrades the accuracy of the smallest values.
+ */
+final class QuantileSketch {
+    static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    static final int MAX_BUCKETS = 2048;
+
+    /**
+     * Values below this one are counted as zero.
+     */
+    private static final double MIN_INDEXABLE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+
+    private long zeroCount;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    QuantileSketch(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * @param value negative and NaN values are ignored.
+     */
+    void add(double value) {
+        if (Double.isNaN(value) || value < 0) {
+            return;
+        }
+
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+
+        if (value < MIN_INDEXABLE) {
+            zeroCount++;
+            return;
+        }
+
+        buckets.merge((int) Math.ceil(Math.log(value) / logGamma), 1L, Long::sum);
+        this.collapse();
+    }
+
+    void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Unable to merge sketches of different accuracies");
+        }
+
+        if (other.count == 0) {
+            return;
+        }
+
+        count += other.count;
+        sum += other.sum;
+        zeroCount += other.zeroCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+
+        other.buckets.forEach((index, bucketCount) -> buckets.merge(index, bucketCount, Long::sum));
+        this.collapse();
+    }
+
+    /**
+     * @param quantile between 0 and 1.
+     * @return the estimated value, NaN if the sketch is empty.
+     */
+    double quantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) Math.floor(quantile * (count - 1));
+        if (rank < zeroCount) {
+            return min;
+        }
+
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+
+            if (seen > rank) {
+                double estimate = 2 * Math.pow(gamma, bucket.getKey()) / (gamma + 1);
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+
+        return max;
+    }
+
+    long count() {
+        return count;
+    }
+
+    double mean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private void collapse() {
+        while (buckets.size() > MAX_BUCKETS) {
+            Map.Entry<Integer, Long> lowest = buckets.pollFirstEntry();
+            buckets.merge(buckets.firstKey(), lowest.getValue(), Long::sum);
+        }
+    }
+}
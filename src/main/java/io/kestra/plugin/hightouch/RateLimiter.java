@@ -0,0 +1,219 @@
+package io.kestra.plugin.hightouch;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket shared by every task of the JVM using the same API credentials.
+ * <p>
+ * Callers reserve a token before each request and wait for their turn instead of failing: a reservation that drives
+ * the bucket negative simply waits for the refill. The bucket is also paused whenever the API reports that the budget
+ * is exhausted, either through a {@code 429} with {@code Retry-After} or through the rate limit headers of a
+ * successful response, so that all the tasks sharing a token back off together. There is a single limiter per
+ * credentials: tasks configuring another budget change it in place, and the last configuration applies to all of them.
+ */
+final class RateLimiter {
+    static final int DEFAULT_RATE = 10;
+    static final int DEFAULT_BURST = 20;
+
+    private static final ConcurrentMap<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private double permitsPerNano;
+    private double burst;
+
+    private double tokens;
+    private long refilledAt;
+    private long blockedUntil;
+
+    RateLimiter(double permitsPerSecond, double burst) {
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+        this.blockedUntil = refilledAt;
+    }
+
+    static RateLimiter of(String key) {
+        return LIMITERS.computeIfAbsent(key, k -> new RateLimiter(DEFAULT_RATE, DEFAULT_BURST));
+    }
+
+    /**
+     * Same as {@link #of(String)} with the budget configured by the task, applied in place to the limiter of the
+     * credentials if it was built with another budget.
+     *
+     * @param permitsPerSecond null to keep the current budget, or the default one.
+     * @param burst null to keep the current burst, or the default one.
+     */
+    static RateLimiter of(String key, Double permitsPerSecond, Double burst) {
+        RateLimiter limiter = of(key);
+
+        if (permitsPerSecond != null || burst != null) {
+            limiter.reconfigure(permitsPerSecond, burst, System.nanoTime());
+        }
+
+        return limiter;
+    }
+
+    /**
+     * Replace the limiter of the given credentials, for clients created afterward.
+     */
+    static void configure(String key, double permitsPerSecond, double burst) {
+        LIMITERS.put(key, new RateLimiter(permitsPerSecond, burst));
+    }
+
+    private double permitsPerSecond() {
+        return permitsPerNano * TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Change the budget without refilling the bucket: the tokens available so far are kept, capped to the new burst,
+     * so that tasks alternating between two budgets never get a fresh bucket.
+     *
+     * @param permitsPerSecond null to keep the current rate.
+     * @param burst null to keep the current burst.
+     */
+    synchronized void reconfigure(Double permitsPerSecond, Double burst, long now) {
+        double rate = permitsPerSecond != null ? permitsPerSecond : this.permitsPerSecond();
+        double size = burst != null ? burst : this.burst;
+
+        if (rate == this.permitsPerSecond() && size == this.burst) {
+            return;
+        }
+
+        // the tokens earned so far were earned at the previous rate
+        this.refill(now);
+
+        this.permitsPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+        this.burst = size;
+        this.tokens = Math.min(tokens, size);
+    }
+
+    /**
+     * Block until a request may be sent.
+     *
+     * @return the time spent waiting.
+     */
+    Duration acquire() throws InterruptedException {
+        long wait = this.reserve(System.nanoTime());
+
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+
+        return Duration.ofNanos(wait);
+    }
+
+    /**
+     * Take one token and return how long the caller must wait before using it. While the bucket is paused, the debt
+     * only starts being paid back at the end of the pause, so that the requests queued meanwhile are spread at the
+     * refill rate instead of all being sent when it ends.
+     */
+    synchronized long reserve(long now) {
+        this.refill(now);
+
+        tokens -= 1;
+
+        long wait = Math.max(0, blockedUntil - now);
+        if (tokens < 0) {
+            wait += (long) Math.ceil(-tokens / permitsPerNano);
+        }
+
+        return wait;
+    }
+
+    /**
+     * Record the budget advertised by a response.
+     */
+    void update(HttpHeaders headers) {
+        Optional<Long> remaining = header(headers, "RateLimit-Remaining", "X-RateLimit-Remaining");
+        if (remaining.isEmpty() || remaining.get() > 0) {
+            return;
+        }
+
+        header(headers, "RateLimit-Reset", "X-RateLimit-Reset")
+            .map(RateLimiter::resetDelay)
+            .ifPresent(this::pause);
+    }
+
+    /**
+     * Record a 429 response.
+     *
+     * @return the delay requested by the API before retrying, one second if it did not say.
+     */
+    Duration throttled(HttpHeaders headers) {
+        Duration delay = headers.firstValue("Retry-After")
+            .flatMap(RateLimiter::retryAfter)
+            .or(() -> header(headers, "RateLimit-Reset", "X-RateLimit-Reset").map(RateLimiter::resetDelay))
+            .orElse(Duration.ofSeconds(1));
+
+        this.pause(delay);
+
+        return delay;
+    }
+
+    synchronized void pause(Duration delay) {
+        long now = System.nanoTime();
+        this.refill(now);
+
+        blockedUntil = Math.max(blockedUntil, now + delay.toNanos());
+        tokens = Math.min(tokens, 0);
+        // no refill until the end of the pause
+        refilledAt = Math.max(refilledAt, blockedUntil);
+    }
+
+    private void refill(long now) {
+        if (now > refilledAt) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+        }
+    }
+
+    private static Optional<Long> header(HttpHeaders headers, String... names) {
+        for (String name : names) {
+            Optional<String> value = headers.firstValue(name);
+            if (value.isPresent()) {
+                try {
+                    return Optional.of(Long.parseLong(value.get().trim()));
+                } catch (NumberFormatException e) {
+                    return Optional.empty();
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Reset headers are either a delay in seconds or, for the X- variant of some APIs, an epoch in seconds.
+     */
+    private static Duration resetDelay(Long value) {
+        long now = System.currentTimeMillis() / 1000;
+        long seconds = value > 1_000_000_000L ? value - now : value;
+
+        return Duration.ofSeconds(Math.max(0, seconds));
+    }
+
+    /**
+     * Retry-After is either a delay in seconds or an HTTP date.
+     */
+    private static Optional<Duration> retryAfter(String value) {
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Optional.of(Duration.between(ZonedDateTime.now(date.getZone()), date))
+                    .map(d -> d.isNegative() ? Duration.ZERO : d);
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+}
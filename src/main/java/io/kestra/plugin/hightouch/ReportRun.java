@@ -0,0 +1,136 @@
+package io.kestra.plugin.hightouch;
+
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Report a Hightouch run status received by a webhook",
+    description = "Hands the run carried by a Hightouch webhook payload over to the `Sync` tasks of the same namespace waiting on it with `completion: WEBHOOK`, through the namespace KV store. Use it in a flow started by a Kestra Webhook trigger that Hightouch alerting calls when a sync ends. A reported end of run is only a hint: the waiting `Sync` confirms it with the Hightouch API before ending."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            title = "Receive Hightouch sync completion webhooks",
+            code = """
+                id: hightouch_webhook
+                namespace: company.team
+
+                tasks:
+                  - id: report
+                    type: io.kestra.plugin.hightouch.ReportRun
+                    payload: "{{ trigger.body | toJson }}"
+
+                triggers:
+                  - id: webhook
+                    type: io.kestra.plugin.core.trigger.Webhook
+                    key: "{{ secret('HIGHTOUCH_WEBHOOK_KEY') }}"
+                """
+        )
+    }
+)
+public class ReportRun extends Task implements RunnableTask<ReportRun.Output> {
+    @Schema(
+        title = "Webhook payload",
+        description = "JSON object holding the run fields (`id`, `status`, `createdAt`, `finishedAt`, `successfulRows`...) along with `syncId`, either at the root or under `run`."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> payload;
+
+    @Schema(
+        title = "Hightouch sync ID",
+        description = "Defaults to the `syncId` of the payload."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Long> syncId;
+
+    @Schema(
+        title = "Hightouch run ID",
+        description = "Defaults to the `id` of the run, or the `runId` of the payload."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Long> runId;
+
+    @Override
+    public ReportRun.Output run(RunContext runContext) throws Exception {
+        JsonNode root = HightouchClient.MAPPER.readTree(runContext.render(this.payload).as(String.class).orElseThrow());
+        if (!root.isObject()) {
+            throw new IllegalArgumentException("The webhook payload must be a JSON object");
+        }
+
+        ObjectNode run = root.get("run") instanceof ObjectNode nested ? nested : (ObjectNode) root;
+
+        Long rSyncId = runContext.render(this.syncId).as(Long.class)
+            .or(() -> number(run, "syncId"))
+            .or(() -> number(root, "syncId"))
+            .orElseThrow(() -> new IllegalArgumentException("The webhook payload has no syncId"));
+        Long rRunId = runContext.render(this.runId).as(Long.class)
+            .or(() -> number(run, "id"))
+            .or(() -> number(root, "runId"))
+            .orElseThrow(() -> new IllegalArgumentException("The webhook payload has no run id"));
+
+        run.put("id", rRunId);
+        RunDetails runDetails = HightouchClient.MAPPER.treeToValue(run, RunDetails.class);
+        if (runDetails.getStatus() == null) {
+            throw new IllegalArgumentException("The webhook payload has no run status");
+        }
+
+        RunReport.put(runContext, String.valueOf(rSyncId), runDetails);
+
+        runContext.logger().info("[syncId={}] runId {} reported with status '{}'", rSyncId, rRunId, runDetails.getStatus());
+
+        return Output.builder()
+            .syncId(rSyncId)
+            .runId(rRunId)
+            .status(runDetails.getStatus())
+            .build();
+    }
+
+    /**
+     * Ids may be sent as JSON numbers or strings.
+     */
+    private static Optional<Long> number(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || !(value.canConvertToLong() || value.isTextual() && value.asText().matches("\\d+"))) {
+            return Optional.empty();
+        }
+
+        return Optional.of(value.asLong());
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Hightouch sync ID")
+        private final Long syncId;
+
+        @Schema(title = "Hightouch run ID")
+        private final Long runId;
+
+        @Schema(title = "Reported run status")
+        private final RunStatus status;
+    }
+}
@@ -0,0 +1,54 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import io.kestra.core.runners.RunContext;
+
+/**
+ * The run triggered by a task run, persisted right after the trigger so that a later attempt of the same task run
+ * (retry, or resubmission after a worker crash) can reattach to it instead of triggering the sync again.
+ */
+record RunCheckpoint(String syncId, Long runId, Instant triggeredAt) {
+    /**
+     * Checkpoints only matter while the task run may be attempted again, they expire afterward.
+     */
+    static final Duration TTL = Duration.ofDays(7);
+
+    /**
+     * @return the KV key of the checkpoint, empty outside of a task run.
+     */
+    static Optional<String> key(RunContext runContext, String syncId) {
+        if (!(runContext.getVariables().get("taskrun") instanceof Map<?, ?> taskRun) || taskRun.get("id") == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(KvState.key("hightouch_run", taskRun.get("id").toString(), syncId));
+    }
+
+    static Optional<RunCheckpoint> get(RunContext runContext, String key) throws Exception {
+        return KvState.get(runContext, key)
+            .filter(value -> value.get("runId") instanceof Number && value.get("triggeredAt") != null)
+            .map(value -> new RunCheckpoint(
+                String.valueOf(value.get("syncId")),
+                ((Number) value.get("runId")).longValue(),
+                Instant.parse(value.get("triggeredAt").toString())
+            ));
+    }
+
+    void put(RunContext runContext, String key) throws Exception {
+        Map<String, Object> value = new HashMap<>();
+        value.put("syncId", syncId);
+        value.put("runId", runId);
+        value.put("triggeredAt", triggeredAt.toString());
+
+        KvState.put(runContext, key, value, "Hightouch run triggered by a task run", TTL);
+    }
+
+    static void delete(RunContext runContext, String key) throws Exception {
+        KvState.delete(runContext, key);
+    }
+}
@@ -0,0 +1,115 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+/**
+ * Live progress metrics of an awaited run.
+ * <p>
+ * The completion ratio and row counters of {@link SyncRunner#counters(RunDetails)} are published while waiting as the
+ * delta since their previous publication, at most once per interval, so that the sum of every value of a counter is
+ * always the latest observed value. Once the run is over, {@link #complete(RunDetails)} only adds what was not
+ * published yet: the totals match the final run without any double counting. Each status the run goes through is
+ * counted as soon as it is observed, whatever the interval.
+ */
+final class RunProgress {
+    static final String RUN_STATUS = "run.status";
+    static final String RUN_STATUS_DESCRIPTION = "Incremented as soon as the run is observed in a new status, tagged by status.";
+
+    /**
+     * Appended to the description of the counters of the tasks publishing them while waiting.
+     */
+    static final String PROGRESS_DESCRIPTION = " Published as the run progresses (see progressMetricsInterval), the values summing up to the final one.";
+
+    private final RunContext runContext;
+    private final Duration interval;
+    private final String[] tags;
+
+    private final Map<String, Double> published = new HashMap<>();
+    private RunStatus status;
+    private Instant publishedAt;
+
+    /**
+     * @param interval minimum delay between two publications of the counters, null or zero to only publish them once
+     *                 the run is over.
+     */
+    RunProgress(RunContext runContext, Duration interval, String... tags) {
+        this.runContext = runContext;
+        this.interval = interval != null && interval.isPositive() ? interval : null;
+        this.tags = tags;
+    }
+
+    /**
+     * Called with every observation of the run, possibly from the poller thread.
+     */
+    synchronized void observe(RunDetails run, Instant now) {
+        if (run == null || run.getStatus() == null) {
+            return;
+        }
+
+        this.status(run);
+
+        if (interval == null || (publishedAt != null && now.isBefore(publishedAt.plus(interval)))) {
+            return;
+        }
+
+        publishedAt = now;
+        this.publish(run, false);
+    }
+
+    /**
+     * Publish the remainder of every counter for the final run, and its status if it was not observed yet. Must be
+     * called whatever the status the run ended with, before failing the task on it.
+     */
+    synchronized void complete(RunDetails run) {
+        if (run.getStatus() != null) {
+            this.status(run);
+        }
+
+        this.publish(run, true);
+    }
+
+    private void status(RunDetails run) {
+        if (run.getStatus() != status) {
+            status = run.getStatus();
+            runContext.metric(Counter.of(RUN_STATUS, 1, this.tags("status", status.toString())));
+        }
+    }
+
+    /**
+     * @param all also publish the counters that did not move, so that every counter exists once the run is over.
+     */
+    private void publish(RunDetails run, boolean all) {
+        if (run.getSuccessfulRows() == null || run.getFailedRows() == null) {
+            return;
+        }
+
+        SyncRunner.counters(run).forEach((name, value) -> {
+            if (value == null) {
+                return;
+            }
+
+            double delta = value - published.getOrDefault(name, 0.0);
+
+            if (delta != 0.0 || (all && !published.containsKey(name))) {
+                runContext.metric(Counter.of(name, delta, tags));
+                published.put(name, value);
+            }
+        });
+    }
+
+    private String[] tags(String key, String value) {
+        String[] extended = Arrays.copyOf(tags, tags.length + 2);
+        extended[tags.length] = key;
+        extended[tags.length + 1] = value;
+        return extended;
+    }
+}
@@ -0,0 +1,43 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.RunDetails;
+
+/**
+ * Run status pushed by a Hightouch webhook through {@link ReportRun}, kept in the namespace KV store until the task
+ * awaiting the run picks it up.
+ */
+final class RunReport {
+    /**
+     * A report nobody awaits anymore is useless after the longest wait of a task.
+     */
+    static final Duration TTL = Duration.ofDays(1);
+
+    private RunReport() {
+    }
+
+    static String key(String syncId, Long runId) {
+        return KvState.key("hightouch_report", syncId, String.valueOf(runId));
+    }
+
+    static Optional<RunDetails> get(RunContext runContext, String syncId, Long runId) throws Exception {
+        return KvState.get(runContext, key(syncId, runId))
+            .map(value -> HightouchClient.MAPPER.convertValue(value, RunDetails.class));
+    }
+
+    static void put(RunContext runContext, String syncId, RunDetails run) throws Exception {
+        Map<String, Object> value = HightouchClient.MAPPER.convertValue(run, new TypeReference<>() {});
+
+        KvState.put(runContext, key(syncId, run.getId()), value, "Hightouch run reported by a webhook", TTL);
+    }
+
+    static void delete(RunContext runContext, String syncId, Long runId) throws Exception {
+        KvState.delete(runContext, key(syncId, runId));
+    }
+}
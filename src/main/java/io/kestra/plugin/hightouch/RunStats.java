@@ -0,0 +1,414 @@
+package io.kestra.plugin.hightouch;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.RunDetails;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Compute Hightouch run statistics",
+    description = "Reads the run history of each sync over the `lookback` period, page by page and several syncs at a time, and summarizes the finished runs: failure rate, percentiles of run duration (from creation to end), rows processed per second and query size, and total successful and failed rows. Percentiles come from quantile sketches with a 1% relative error, so memory stays bounded whatever the number of runs. Summaries are returned per sync and for all the syncs together."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            title = "Monthly capacity planning figures of two syncs",
+            code = """
+                id: hightouch_run_stats
+                namespace: company.team
+
+                tasks:
+                  - id: stats
+                    type: io.kestra.plugin.hightouch.RunStats
+                    token: "{{ secret('HIGHTOUCH_API_TOKEN') }}"
+                    lookback: P30D
+                    syncIds:
+                      - 1127166
+                      - 1127167
+
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "p95 duration {{ outputs.stats.total.duration.p95 }}s, failure rate {{ outputs.stats.total.failureRate }}"
+                """
+        )
+    },
+    metrics = {
+        @Metric(
+            name = "runs",
+            type = Counter.TYPE,
+            description = "Number of finished runs, tagged by syncId; untagged for all the syncs."
+        ),
+        @Metric(
+            name = "runs.failed",
+            type = Counter.TYPE,
+            description = "Number of unsuccessful runs, tagged by syncId; untagged for all the syncs."
+        ),
+        @Metric(
+            name = "run.duration.p50",
+            type = Timer.TYPE,
+            description = "Median run duration, tagged by syncId; untagged for all the syncs."
+        ),
+        @Metric(
+            name = "run.duration.p95",
+            type = Timer.TYPE,
+            description = "95th percentile of run duration, tagged by syncId; untagged for all the syncs."
+        ),
+        @Metric(
+            name = "rows.per.second.p50",
+            type = Counter.TYPE,
+            description = "Median of rows processed per second, tagged by syncId; untagged for all the syncs."
+        ),
+        @Metric(
+            name = "rows.per.second.p95",
+            type = Counter.TYPE,
+            description = "95th percentile of rows processed per second, tagged by syncId; untagged for all the syncs."
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITER_WAIT,
+            type = Timer.TYPE,
+            description = HttpMetrics.RATE_LIMITER_WAIT_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITED_RETRIES,
+            type = Counter.TYPE,
+            description = HttpMetrics.RATE_LIMITED_RETRIES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUEST_DURATION,
+            type = Timer.TYPE,
+            description = HttpMetrics.REQUEST_DURATION_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUESTS,
+            type = Counter.TYPE,
+            description = HttpMetrics.REQUESTS_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSE_SIZE,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSE_SIZE_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSE_WIRE_SIZE,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSE_WIRE_SIZE_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSES,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSES_DESCRIPTION
+        )
+    }
+)
+public class RunStats extends AbstractHightouchConnection implements RunnableTask<RunStats.Output> {
+    @Schema(
+        title = "Hightouch sync IDs",
+        description = "Required numeric IDs of the syncs to compute statistics for."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<List<Long>> syncIds;
+
+    @Schema(
+        title = "Period of run history to read",
+        description = "Defaults to 30 days. Only runs created within this period before now are taken into account."
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    private Property<Duration> lookback = Property.ofValue(Duration.ofDays(30));
+
+    @Schema(
+        title = "Maximum number of syncs read at the same time",
+        description = "Defaults to 4."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(
+        title = "Number of runs requested per page",
+        description = "Defaults to 100."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageSize = Property.ofValue(100);
+
+    @Override
+    public RunStats.Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        List<Long> rSyncIds = runContext.render(this.syncIds).asList(Long.class);
+        Instant since = Instant.now().minus(runContext.render(this.lookback).as(Duration.class).orElse(Duration.ofDays(30)));
+        int rConcurrency = Math.max(1, runContext.render(this.concurrency).as(Integer.class).orElse(4));
+        int rPageSize = runContext.render(this.pageSize).as(Integer.class).orElse(100);
+
+        String query = "after=" + URLEncoder.encode(since.toString(), StandardCharsets.UTF_8);
+        Map<Long, Accumulator> accumulators = new LinkedHashMap<>();
+
+        try (
+            HightouchClient client = this.client(runContext);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            SyncRunner runner = new SyncRunner(client, logger);
+            Semaphore permits = new Semaphore(rConcurrency);
+            Map<Long, Future<Accumulator>> futures = new LinkedHashMap<>();
+
+            for (Long syncId : rSyncIds) {
+                futures.put(syncId, executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return this.collect(runner, String.valueOf(syncId), query, rPageSize, since);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (Map.Entry<Long, Future<Accumulator>> entry : futures.entrySet()) {
+                try {
+                    accumulators.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+
+                    throw e;
+                }
+            }
+        }
+
+        Accumulator all = new Accumulator();
+        List<Summary> summaries = new ArrayList<>();
+
+        for (Map.Entry<Long, Accumulator> entry : accumulators.entrySet()) {
+            String syncId = String.valueOf(entry.getKey());
+            Accumulator accumulator = entry.getValue();
+
+            all.merge(accumulator);
+            summaries.add(accumulator.summary(entry.getKey()));
+            accumulator.metrics(runContext, "syncId", syncId);
+
+            logger.info(
+                "[syncId={}] {} runs since {}, {} failed, duration p50 {}s p95 {}s",
+                syncId, accumulator.runs, since, accumulator.failedRuns, accumulator.duration.quantile(0.5), accumulator.duration.quantile(0.95)
+            );
+        }
+
+        all.metrics(runContext);
+
+        return Output.builder()
+            .since(since)
+            .syncs(summaries)
+            .total(all.summary(null))
+            .build();
+    }
+
+    private Accumulator collect(SyncRunner runner, String syncId, String query, int pageSize, Instant since) throws Exception {
+        Accumulator accumulator = new Accumulator();
+
+        runner.paginateRuns(syncId, query, pageSize, run -> {
+            if (run.getCreatedAt() != null && !run.getCreatedAt().isBefore(since) && SyncRunner.ENDED_STATUS.contains(run.getStatus())) {
+                accumulator.add(run);
+            }
+
+            return true;
+        });
+
+        return accumulator;
+    }
+
+    /**
+     * Bounded-size statistics of the runs of one sync, or of several once merged.
+     */
+    static final class Accumulator {
+        private final QuantileSketch duration = new QuantileSketch();
+        private final QuantileSketch rowsPerSecond = new QuantileSketch();
+        private final QuantileSketch querySize = new QuantileSketch();
+        private long runs;
+        private long failedRuns;
+        private long successfulRows;
+        private long failedRows;
+
+        void add(RunDetails run) {
+            runs++;
+            if (!SyncRunner.SUCCESS_STATUS.contains(run.getStatus())) {
+                failedRuns++;
+            }
+
+            long successful = PollingSchedule.total(run.getSuccessfulRows());
+            long failed = PollingSchedule.total(run.getFailedRows());
+            successfulRows += successful;
+            failedRows += failed;
+
+            if (run.getQuerySize() != null) {
+                querySize.add(run.getQuerySize());
+            }
+
+            if (run.getFinishedAt() != null) {
+                double seconds = Duration.between(run.getCreatedAt(), run.getFinishedAt()).toMillis() / 1000.0;
+                duration.add(seconds);
+
+                if (seconds > 0) {
+                    rowsPerSecond.add((successful + failed) / seconds);
+                }
+            }
+        }
+
+        void merge(Accumulator other) {
+            runs += other.runs;
+            failedRuns += other.failedRuns;
+            successfulRows += other.successfulRows;
+            failedRows += other.failedRows;
+            duration.merge(other.duration);
+            rowsPerSecond.merge(other.rowsPerSecond);
+            querySize.merge(other.querySize);
+        }
+
+        Summary summary(Long syncId) {
+            return Summary.builder()
+                .syncId(syncId)
+                .runs(runs)
+                .failedRuns(failedRuns)
+                .failureRate(runs == 0 ? null : (double) failedRuns / runs)
+                .successfulRows(successfulRows)
+                .failedRows(failedRows)
+                .duration(Distribution.of(duration))
+                .rowsPerSecond(Distribution.of(rowsPerSecond))
+                .querySize(Distribution.of(querySize))
+                .build();
+        }
+
+        void metrics(RunContext runContext, String... tags) {
+            runContext.metric(Counter.of("runs", runs, tags));
+            runContext.metric(Counter.of("runs.failed", failedRuns, tags));
+
+            if (duration.count() > 0) {
+                runContext.metric(Timer.of("run.duration.p50", Duration.ofMillis((long) (duration.quantile(0.5) * 1000)), tags));
+                runContext.metric(Timer.of("run.duration.p95", Duration.ofMillis((long) (duration.quantile(0.95) * 1000)), tags));
+            }
+
+            if (rowsPerSecond.count() > 0) {
+                runContext.metric(Counter.of("rows.per.second.p50", rowsPerSecond.quantile(0.5), tags));
+                runContext.metric(Counter.of("rows.per.second.p95", rowsPerSecond.quantile(0.95), tags));
+            }
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Distribution {
+        @Schema(title = "Number of values")
+        private final Long count;
+
+        @Schema(title = "Smallest value")
+        private final Double min;
+
+        @Schema(title = "Mean value")
+        private final Double mean;
+
+        @Schema(title = "Median")
+        private final Double p50;
+
+        @Schema(title = "90th percentile")
+        private final Double p90;
+
+        @Schema(title = "95th percentile")
+        private final Double p95;
+
+        @Schema(title = "99th percentile")
+        private final Double p99;
+
+        @Schema(title = "Largest value")
+        private final Double max;
+
+        static Distribution of(QuantileSketch sketch) {
+            if (sketch.count() == 0) {
+                return Distribution.builder().count(0L).build();
+            }
+
+            return Distribution.builder()
+                .count(sketch.count())
+                .min(sketch.min())
+                .mean(sketch.mean())
+                .p50(sketch.quantile(0.5))
+                .p90(sketch.quantile(0.9))
+                .p95(sketch.quantile(0.95))
+                .p99(sketch.quantile(0.99))
+                .max(sketch.max())
+                .build();
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Summary {
+        @Schema(title = "Hightouch sync ID", description = "Null for the summary of all the syncs.")
+        private final Long syncId;
+
+        @Schema(title = "Number of finished runs")
+        private final Long runs;
+
+        @Schema(title = "Number of runs that did not end successfully")
+        private final Long failedRuns;
+
+        @Schema(title = "Ratio of runs that did not end successfully", description = "Null without any run.")
+        private final Double failureRate;
+
+        @Schema(title = "Total rows successfully synced")
+        private final Long successfulRows;
+
+        @Schema(title = "Total rows that failed to sync")
+        private final Long failedRows;
+
+        @Schema(title = "Run duration in seconds, from creation to end")
+        private final Distribution duration;
+
+        @Schema(title = "Rows processed per second, successful and failed")
+        private final Distribution rowsPerSecond;
+
+        @Schema(title = "Query size")
+        private final Distribution querySize;
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Start of the period taken into account")
+        private final Instant since;
+
+        @Schema(title = "Statistics of each sync", description = "In the order of syncIds.")
+        private final List<Summary> syncs;
+
+        @Schema(title = "Statistics of all the syncs together")
+        private final Summary total;
+    }
+}
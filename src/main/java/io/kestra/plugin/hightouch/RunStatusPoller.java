@@ -0,0 +1,426 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import io.kestra.core.http.client.HttpClientException;
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.plugin.hightouch.models.RunDetails;
+
+/**
+ * Worker-wide poller multiplexing every waiting run.
+ * <p>
+ * Watches are grouped by API credentials and sync: each group issues a single status lookup per tick whatever the
+ * number of tasks waiting on it. Several runs of the same sync are resolved from one run listing, and several tasks
+ * waiting on the same run share a single watch. The group reschedules itself at the earliest delay requested by the
+ * {@link PollingSchedule} of any of its registrations, and completes each {@link Registration} once its run reaches one
+ * of the {@link SyncRunner#ENDED_STATUS}.
+ * <p>
+ * A group has no client of its own: it borrows the {@link SyncRunner} of one of its live registrations for the
+ * requests only, so they always go through a client that is still open. The polls, retries and failed lookups are
+ * accounted and logged by the runner of each registration, so that they land in the execution that waits on the run.
+ * <p>
+ * A lookup that fails transiently (connection error, timeout, 5xx) does not fail the waiting tasks: it is tried again
+ * with a growing delay, and counts toward the {@link CircuitBreaker} of the API host, which holds every group of the
+ * host back while it is open. Any other failure only fails the registrations of the run that could not be looked up.
+ * Single run lookups are hedged following {@link PollingSchedule#hedgeAfter()}.
+ */
+final class RunStatusPoller {
+    static final RunStatusPoller SHARED = new RunStatusPoller();
+
+    static final Duration MIN_RETRY = Duration.ofSeconds(1);
+    static final Duration MAX_RETRY = Duration.ofSeconds(30);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("hightouch-run-poller").daemon().factory()
+    );
+    private final ExecutorService fetchers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentMap<String, Group> groups = new ConcurrentHashMap<>();
+
+    /**
+     * @param clientKey identifies the API credentials, see {@link HightouchClient#key()}.
+     * @param listener called with every observation of the run, on the poller thread.
+     * @return a registration to close once the caller stops waiting.
+     */
+    Registration watch(String clientKey, String syncId, Long runId, PollingSchedule schedule, SyncRunner runner, Consumer<RunDetails> listener) {
+        Registration registration = new Registration(runner, schedule, listener);
+
+        groups.compute(clientKey + "/" + syncId, (key, group) -> {
+            Group current = group != null ? group : new Group(key, syncId, CircuitBreaker.of(host(clientKey)));
+            current.add(runId, registration);
+            return current;
+        });
+
+        return registration;
+    }
+
+    int groupCount() {
+        return groups.size();
+    }
+
+    /**
+     * Client keys are made of the base URL and a digest of the credentials, see {@link HightouchClient#key(String, String)}.
+     */
+    private static String host(String clientKey) {
+        int separator = clientKey.indexOf('#');
+
+        return separator >= 0 ? clientKey.substring(0, separator) : clientKey;
+    }
+
+    /**
+     * @return whether the lookup may succeed if tried again: no answer, a timeout, throttling or a server error.
+     */
+    static boolean isTransient(Exception e) {
+        if (e instanceof HttpClientResponseException responseException) {
+            if (responseException.getResponse() == null) {
+                return true;
+            }
+
+            int status = responseException.getResponse().getStatus().getCode();
+            return status == 408 || status == 429 || status >= 500;
+        }
+
+        return e instanceof HttpClientException
+            || e instanceof IOException
+            || e instanceof UncheckedIOException
+            || e.getCause() instanceof IOException;
+    }
+
+    private void release(Group group) {
+        groups.computeIfPresent(group.key, (key, current) -> current == group && group.isEmpty() ? null : current);
+    }
+
+    final class Registration implements AutoCloseable {
+        private final SyncRunner runner;
+        private final PollingSchedule schedule;
+        private final Consumer<RunDetails> listener;
+        private final CompletableFuture<RunDetails> future = new CompletableFuture<>();
+        private final AtomicInteger polls = new AtomicInteger();
+        private final AtomicInteger retries = new AtomicInteger();
+        private Group group;
+        private Long runId;
+        private volatile boolean closed;
+
+        private Registration(SyncRunner runner, PollingSchedule schedule, Consumer<RunDetails> listener) {
+            this.runner = runner;
+            this.schedule = schedule;
+            this.listener = listener;
+        }
+
+        CompletableFuture<RunDetails> future() {
+            return future;
+        }
+
+        /**
+         * @return the number of status lookups made for this registration so far.
+         */
+        int polls() {
+            return polls.get();
+        }
+
+        /**
+         * @return the number of status lookups that failed transiently and were tried again so far.
+         */
+        int retries() {
+            return retries.get();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            future.cancel(false);
+
+            if (group != null) {
+                group.remove(runId, this);
+                release(group);
+            }
+        }
+    }
+
+    private static final class Watch {
+        private final List<Registration> registrations = new ArrayList<>();
+    }
+
+    /**
+     * The runs looked up by one poll, and the runs whose lookup failed for good.
+     */
+    private record Lookup(Map<Long, RunDetails> observed, Map<Long, Exception> failed) {
+    }
+
+    private final class Group {
+        private final String key;
+        private final String syncId;
+        private final CircuitBreaker breaker;
+        private final Map<Long, Watch> watches = new LinkedHashMap<>();
+        private ScheduledFuture<?> next;
+        private boolean polling;
+        private boolean pending;
+        private int failures;
+
+        private Group(String key, String syncId, CircuitBreaker breaker) {
+            this.key = key;
+            this.syncId = syncId;
+            this.breaker = breaker;
+        }
+
+        synchronized void add(Long runId, Registration registration) {
+            watches.computeIfAbsent(runId, id -> new Watch()).registrations.add(registration);
+            registration.group = this;
+            registration.runId = runId;
+
+            // a new watcher gets its first observation right away instead of waiting for the group's backoff
+            if (polling) {
+                pending = true;
+            } else {
+                this.schedule(Duration.ZERO);
+            }
+        }
+
+        synchronized void remove(Long runId, Registration registration) {
+            Watch watch = watches.get(runId);
+            if (watch == null) {
+                return;
+            }
+
+            watch.registrations.remove(registration);
+            if (watch.registrations.isEmpty()) {
+                watches.remove(runId);
+            }
+
+            if (watches.isEmpty() && next != null) {
+                next.cancel(false);
+                next = null;
+            }
+        }
+
+        synchronized boolean isEmpty() {
+            return watches.isEmpty();
+        }
+
+        private void schedule(Duration delay) {
+            if (next != null) {
+                next.cancel(false);
+            }
+
+            next = scheduler.schedule(() -> fetchers.execute(this::poll), delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        private void poll() {
+            List<Long> runIds;
+            Registration borrowed;
+            Duration hedgeAfter;
+
+            synchronized (this) {
+                if (watches.isEmpty() || polling) {
+                    return;
+                }
+
+                polling = true;
+                pending = false;
+                next = null;
+                runIds = new ArrayList<>(watches.keySet());
+                borrowed = watches.values().iterator().next().registrations.getFirst();
+                hedgeAfter = watches.values().stream()
+                    .flatMap(watch -> watch.registrations.stream())
+                    .map(registration -> registration.schedule.hedgeAfter())
+                    .filter(Objects::nonNull)
+                    .min(Comparator.naturalOrder())
+                    .orElse(null);
+            }
+
+            Duration open = breaker.check(System.nanoTime());
+            if (!open.isZero()) {
+                synchronized (this) {
+                    polling = false;
+                    if (!watches.isEmpty()) {
+                        this.schedule(open);
+                    }
+                }
+
+                release(this);
+                return;
+            }
+
+            Lookup lookup;
+            try {
+                lookup = this.fetch(borrowed.runner, runIds, hedgeAfter);
+            } catch (Exception e) {
+                boolean transientFailure = isTransient(e);
+
+                // any answer that is not a transient failure shows the host is up
+                if (transientFailure) {
+                    breaker.failure(System.nanoTime());
+                } else {
+                    breaker.success();
+                }
+
+                if (borrowed.closed) {
+                    this.borrowedClosed();
+                } else {
+                    this.retry(e);
+                }
+                return;
+            }
+
+            breaker.success();
+
+            if (!lookup.failed().isEmpty() && borrowed.closed) {
+                this.borrowedClosed();
+                return;
+            }
+
+            Instant now = Instant.now();
+            synchronized (this) {
+                polling = false;
+                failures = 0;
+                Duration delay = null;
+
+                for (Long runId : runIds) {
+                    Watch watch = watches.get(runId);
+                    if (watch == null) {
+                        continue;
+                    }
+
+                    watch.registrations.forEach(registration -> registration.polls.incrementAndGet());
+
+                    Exception failure = lookup.failed().get(runId);
+                    if (failure != null) {
+                        watches.remove(runId);
+                        watch.registrations.forEach(registration -> registration.future.completeExceptionally(failure));
+                        continue;
+                    }
+
+                    RunDetails run = lookup.observed().get(runId);
+                    if (run != null) {
+                        watch.registrations.forEach(registration -> registration.listener.accept(run));
+
+                        if (SyncRunner.ENDED_STATUS.contains(run.getStatus())) {
+                            watches.remove(runId);
+                            watch.registrations.forEach(registration -> registration.future.complete(run));
+                            continue;
+                        }
+                    }
+
+                    // every registration keeps its own schedule, the group polls as often as the most eager one
+                    for (Registration registration : watch.registrations) {
+                        Duration wanted = registration.schedule.next(run, now);
+                        if (delay == null || wanted.compareTo(delay) < 0) {
+                            delay = wanted;
+                        }
+                    }
+                }
+
+                if (pending || delay == null) {
+                    delay = Duration.ZERO;
+                }
+
+                if (!watches.isEmpty()) {
+                    this.schedule(delay);
+                }
+            }
+
+            release(this);
+        }
+
+        /**
+         * Only transient failures are thrown, for the whole group to try again. Other failures of a single run lookup
+         * are returned for that run alone, and a run listing failing for good falls back to single run lookups.
+         */
+        private Lookup fetch(SyncRunner runner, List<Long> runIds, Duration hedgeAfter) throws Exception {
+            Map<Long, RunDetails> observed = new HashMap<>();
+            Map<Long, Exception> failed = new HashMap<>();
+
+            if (runIds.size() > 1) {
+                try {
+                    runner.listRuns(syncId, "", runIds.size() * 2, 0, run -> {
+                        if (runIds.contains(run.getId())) {
+                            observed.put(run.getId(), run);
+                        }
+
+                        return observed.size() < runIds.size();
+                    });
+                } catch (Exception e) {
+                    if (isTransient(e)) {
+                        throw e;
+                    }
+                }
+            }
+
+            // older runs may have been pushed out of the latest page by newer ones
+            for (Long runId : runIds) {
+                if (!observed.containsKey(runId)) {
+                    try {
+                        RunDetails run = runner.fetchRun(syncId, runId, hedgeAfter);
+                        if (run != null) {
+                            observed.put(runId, run);
+                        }
+                    } catch (Exception e) {
+                        if (isTransient(e)) {
+                            throw e;
+                        }
+
+                        failed.put(runId, e);
+                    }
+                }
+            }
+
+            return new Lookup(observed, failed);
+        }
+
+        /**
+         * Keep the watches and try again later, backing off exponentially while the failures go on.
+         */
+        private void retry(Exception e) {
+            Duration delay;
+            Set<SyncRunner> runners = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            synchronized (this) {
+                polling = false;
+                failures++;
+
+                delay = MIN_RETRY.multipliedBy(1L << Math.min(failures - 1, 10));
+                if (delay.compareTo(MAX_RETRY) > 0) {
+                    delay = MAX_RETRY;
+                }
+
+                watches.values().forEach(watch -> watch.registrations.forEach(registration -> {
+                    registration.retries.incrementAndGet();
+                    runners.add(registration.runner);
+                }));
+
+                if (!watches.isEmpty()) {
+                    this.schedule(delay);
+                }
+            }
+
+            // logged once per task, in its own execution
+            for (SyncRunner runner : runners) {
+                runner.pollFailed(syncId, e, delay);
+            }
+
+            release(this);
+        }
+
+        /**
+         * The borrowed client was closed under us: its failures say nothing about the runs, retry with another
+         * registration.
+         */
+        private void borrowedClosed() {
+            synchronized (this) {
+                polling = false;
+
+                if (!watches.isEmpty()) {
+                    this.schedule(Duration.ZERO);
+                }
+            }
+
+            release(this);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+import io.kestra.plugin.hightouch.models.StatusTransition;
+
+/**
+ * Status transitions of a run as observed by the poller, and the phase durations and throughput derived from them.
+ * <p>
+ * Phases are bounded by the exact {@code createdAt}, {@code startedAt} and {@code finishedAt} of the run when
+ * available, and otherwise by the first poll that observed each status, so their precision is the polling interval.
+ */
+final class RunTimeline {
+    /*
+     * Names and descriptions of the metrics derived from the timeline, referenced by the @Metric annotations of every
+     * task awaiting runs.
+     */
+    static final String PHASE_QUEUED = "phase.queued.duration";
+    static final String PHASE_QUEUED_DESCRIPTION = "Time the run spent queued, from creation to start.";
+
+    static final String PHASE_QUERYING = "phase.querying.duration";
+    static final String PHASE_QUERYING_DESCRIPTION = "Time the run spent querying the source model.";
+
+    static final String PHASE_PROCESSING = "phase.processing.duration";
+    static final String PHASE_PROCESSING_DESCRIPTION = "Time the run spent processing rows to the destination.";
+
+    static final String PHASE_REPORTING = "phase.reporting.duration";
+    static final String PHASE_REPORTING_DESCRIPTION = "Time the run spent reporting, until it finished.";
+
+    static final String ROWS_PER_SECOND = "rows.per.second";
+    static final String ROWS_PER_SECOND_DESCRIPTION = "Rows processed per second while processing and reporting.";
+
+    static final String ROWS_PLANNED_RATIO = "rows.planned.ratio";
+    static final String ROWS_PLANNED_RATIO_DESCRIPTION = "Processed rows (successful and failed) divided by planned rows.";
+
+    private static final String[] PHASES = {PHASE_QUEUED, PHASE_QUERYING, PHASE_PROCESSING, PHASE_REPORTING};
+
+    private final List<StatusTransition> transitions = new ArrayList<>();
+
+    /**
+     * Record an observation of the run, kept only if its status changed since the previous one.
+     */
+    synchronized void observe(RunDetails run, Instant observedAt) {
+        if (run == null || run.getStatus() == null) {
+            return;
+        }
+
+        if (!transitions.isEmpty() && transitions.getLast().getStatus() == run.getStatus()) {
+            return;
+        }
+
+        transitions.add(StatusTransition.builder().status(run.getStatus()).observedAt(observedAt).build());
+    }
+
+    synchronized List<StatusTransition> transitions() {
+        return List.copyOf(transitions);
+    }
+
+    /**
+     * Emit the phase Timers, the row throughput and the planned vs processed ratio of the final run.
+     */
+    void metrics(RunContext runContext, RunDetails run, String... tags) {
+        Instant ended = run.getFinishedAt() != null ? run.getFinishedAt() : this.firstObserved(SyncRunner.ENDED_STATUS);
+
+        // start of queued, querying, processing, reporting, then end of the run
+        Instant[] bounds = {
+            run.getCreatedAt(),
+            run.getStartedAt() != null ? run.getStartedAt() : this.firstObserved(List.of(RunStatus.QUERYING)),
+            this.firstObserved(List.of(RunStatus.PROCESSING)),
+            this.firstObserved(List.of(RunStatus.REPORTING)),
+            ended
+        };
+
+        for (int i = 0; i < PHASES.length; i++) {
+            Duration duration = between(bounds, i);
+            if (duration != null) {
+                runContext.metric(Timer.of(PHASES[i], duration, tags));
+            }
+        }
+
+        long processed = PollingSchedule.total(run.getSuccessfulRows()) + PollingSchedule.total(run.getFailedRows());
+
+        Instant processingStart = bounds[2] != null ? bounds[2] : bounds[1];
+        if (processingStart != null && ended != null && ended.isAfter(processingStart)) {
+            double seconds = Duration.between(processingStart, ended).toMillis() / 1000.0;
+            runContext.metric(Counter.of(ROWS_PER_SECOND, processed / seconds, tags));
+        }
+
+        long planned = PollingSchedule.total(run.getPlannedRows());
+        if (planned > 0) {
+            runContext.metric(Counter.of(ROWS_PLANNED_RATIO, (double) processed / planned, tags));
+        }
+    }
+
+    /**
+     * @return the duration from bounds[index] to the next known bound, null if unknown.
+     */
+    private static Duration between(Instant[] bounds, int index) {
+        if (bounds[index] == null) {
+            return null;
+        }
+
+        for (int next = index + 1; next < bounds.length; next++) {
+            if (bounds[next] != null) {
+                return bounds[next].isBefore(bounds[index]) ? null : Duration.between(bounds[index], bounds[next]);
+            }
+        }
+
+        return null;
+    }
+
+    private synchronized Instant firstObserved(List<RunStatus> statuses) {
+        return transitions.stream()
+            .filter(transition -> statuses.contains(transition.getStatus()))
+            .map(StatusTransition::getObservedAt)
+            .findFirst()
+            .orElse(null);
+    }
+}
@@ -0,0 +1,74 @@
+package io.kestra.plugin.hightouch;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs being started or awaited by the tasks of this worker, per API credentials and sync, so that tasks asking for
+ * the same sync at the same time share a single trigger.
+ * <p>
+ * The first task to {@link #claim(String)} a key owns it: it decides which run to await, publishes it, and releases
+ * the key when it stops waiting. Tasks claiming the key meanwhile simply join the owner's run.
+ */
+final class SharedTriggers {
+    static final SharedTriggers SHARED = new SharedTriggers();
+
+    private final ConcurrentMap<String, CompletableFuture<Long>> runs = new ConcurrentHashMap<>();
+
+    Claim claim(String key) {
+        CompletableFuture<Long> owned = new CompletableFuture<>();
+        CompletableFuture<Long> existing = runs.putIfAbsent(key, owned);
+
+        return existing != null ? new Claim(key, existing, false) : new Claim(key, owned, true);
+    }
+
+    final class Claim implements AutoCloseable {
+        private final String key;
+        private final CompletableFuture<Long> run;
+        private final boolean owner;
+
+        private Claim(String key, CompletableFuture<Long> run, boolean owner) {
+            this.key = key;
+            this.run = run;
+            this.owner = owner;
+        }
+
+        boolean owner() {
+            return owner;
+        }
+
+        /**
+         * @return the run published by the owner, once it is known.
+         */
+        Long join() throws Exception {
+            try {
+                return run.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+
+                throw e;
+            }
+        }
+
+        void publish(Long runId) {
+            run.complete(runId);
+        }
+
+        void fail(Exception e) {
+            run.completeExceptionally(e);
+        }
+
+        @Override
+        public void close() {
+            if (owner) {
+                // tasks joining after a failure of the owner must not wait forever
+                run.completeExceptionally(new IllegalStateException("No run was started for " + key));
+                runs.remove(key, run);
+            }
+        }
+    }
+}
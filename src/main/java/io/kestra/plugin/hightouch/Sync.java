@@ -1,30 +1,28 @@
 package io.kestra.plugin.hightouch;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
-import org.apache.commons.lang3.time.DurationFormatUtils;
-import org.slf4j.Logger;
-
-import io.kestra.core.http.HttpResponse;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
-import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.utils.Await;
-import io.kestra.plugin.hightouch.models.*;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.StatusTransition;
+import io.kestra.plugin.hightouch.models.SyncDetailsResponse;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
-import static io.kestra.core.utils.Rethrow.throwSupplier;
 import io.kestra.core.models.annotations.PluginProperty;
 
 @SuperBuilder
@@ -34,7 +32,7 @@ import io.kestra.core.models.annotations.PluginProperty;
 @NoArgsConstructor
 @Schema(
     title = "Trigger and monitor a Hightouch sync",
-    description = "Triggers a Hightouch sync by ID. Waits for completion by default, polling every second until a terminal status or the 5 minute maxDuration. Set wait=false to return only the runId; set fullResynchronization=true to force a full reload."
+    description = "Triggers a Hightouch sync by ID or slug. Waits for completion by default, polling the run status with an adaptive backoff (see pollingPolicy) until a terminal status or the 5 minute maxDuration. Set wait=false to return only the runId; set fullResynchronization=true to force a full reload."
 )
 @Plugin(
     examples = {
@@ -51,66 +49,168 @@ import io.kestra.core.models.annotations.PluginProperty;
                     token: "{{ secret('HIGHTOUCH_API_TOKEN') }}"
                     syncId: 1127166
                 """
+        ),
+        @Example(
+            full = true,
+            title = "Run a Hightouch sync by slug, so that the flow works in every workspace",
+            code = """
+                id: hightouch_sync_by_slug
+                namespace: company.team
+
+                tasks:
+                  - id: sync
+                    type: io.kestra.plugin.hightouch.Sync
+                    token: "{{ secret('HIGHTOUCH_API_TOKEN') }}"
+                    syncSlug: salesforce-contacts
+                """
         )
     },
     metrics = {
         @Metric(
-            name = "completion.ratio",
+            name = SyncRunner.COMPLETION_RATIO,
+            type = Counter.TYPE,
+            description = SyncRunner.COMPLETION_RATIO_DESCRIPTION + RunProgress.PROGRESS_DESCRIPTION
+        ),
+        @Metric(
+            name = RunProgress.RUN_STATUS,
+            type = Counter.TYPE,
+            description = RunProgress.RUN_STATUS_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_ADDED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_ADDED_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_REMOVED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_REMOVED_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_CHANGED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_CHANGED_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_ADDED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_ADDED_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_REMOVED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_REMOVED_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_CHANGED,
             type = Counter.TYPE,
-            description = "The completion ratio of the Hightouch sync."
+            description = SyncRunner.ROWS_FAILED_CHANGED_DESCRIPTION
         ),
         @Metric(
-            name = "rows.successfully.added",
+            name = HttpMetrics.RATE_LIMITER_WAIT,
+            type = Timer.TYPE,
+            description = HttpMetrics.RATE_LIMITER_WAIT_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITED_RETRIES,
             type = Counter.TYPE,
-            description = "Number of rows successfully added."
+            description = HttpMetrics.RATE_LIMITED_RETRIES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUEST_DURATION,
+            type = Timer.TYPE,
+            description = HttpMetrics.REQUEST_DURATION_DESCRIPTION
         ),
         @Metric(
-            name = "rows.successfully.removed",
+            name = HttpMetrics.REQUESTS,
             type = Counter.TYPE,
-            description = "Number of rows successfully removed."
+            description = HttpMetrics.REQUESTS_DESCRIPTION
         ),
         @Metric(
-            name = "rows.successfully.changed",
+            name = HttpMetrics.RESPONSE_SIZE,
             type = Counter.TYPE,
-            description = "Number of rows successfully changed."
+            description = HttpMetrics.RESPONSE_SIZE_DESCRIPTION
         ),
         @Metric(
-            name = "rows.failed.added",
+            name = HttpMetrics.RESPONSE_WIRE_SIZE,
             type = Counter.TYPE,
-            description = "Number of rows failed to add."
+            description = HttpMetrics.RESPONSE_WIRE_SIZE_DESCRIPTION
         ),
         @Metric(
-            name = "rows.failed.removed",
+            name = HttpMetrics.RESPONSES,
             type = Counter.TYPE,
-            description = "Number of rows failed to remove."
+            description = HttpMetrics.RESPONSES_DESCRIPTION
         ),
         @Metric(
-            name = "rows.failed.changed",
+            name = HttpMetrics.POLLS,
             type = Counter.TYPE,
-            description = "Number of rows failed to change."
+            description = HttpMetrics.POLLS_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.POLL_RETRIES,
+            type = Counter.TYPE,
+            description = HttpMetrics.POLL_RETRIES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.HEDGED_REQUESTS,
+            type = Counter.TYPE,
+            description = HttpMetrics.HEDGED_REQUESTS_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_QUEUED,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_QUEUED_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_QUERYING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_QUERYING_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_PROCESSING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_PROCESSING_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_REPORTING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_REPORTING_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.ROWS_PER_SECOND,
+            type = Counter.TYPE,
+            description = RunTimeline.ROWS_PER_SECOND_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.ROWS_PLANNED_RATIO,
+            type = Counter.TYPE,
+            description = RunTimeline.ROWS_PLANNED_RATIO_DESCRIPTION
         )
     }
 )
-public class Sync extends AbstractHightouchConnection implements RunnableTask<Sync.Output> {
-    private static final List<RunStatus> ENDED_STATUS = List.of(
-        RunStatus.FAILED,
-        RunStatus.CANCELLED,
-        RunStatus.SUCCESS,
-        RunStatus.COMPLETED_WITH_ERRORS,
-        RunStatus.WARNING,
-        RunStatus.INTERRUPTED
-    );
-
-    private static final Duration STATUS_REFRESH_RATE = Duration.ofSeconds(1);
-
+public class Sync extends AbstractRunWait {
     @Schema(
         title = "Hightouch sync ID",
-        description = "Required numeric ID of the sync to trigger."
+        description = "Numeric ID of the sync to trigger. Either `syncId` or `syncSlug` is required."
     )
-    @NotNull
     @PluginProperty(group = "main")
     private Property<Long> syncId;
 
+    @Schema(
+        title = "Hightouch sync slug",
+        description = "Slug of the sync to trigger, resolved to its ID through an index of the workspace syncs cached on the worker and in the namespace KV store. Either `syncId` or `syncSlug` is required."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> syncSlug;
+
+    @Schema(
+        title = "How long the sync slug index is trusted",
+        description = "Defaults to 1 hour. Past this delay after a slug was last checked against the API, it is looked up again; glob patterns refresh the whole index at most once per this delay. Set it longer than the interval between two executions for slugs to be resolved without any API call, at the cost of noticing renamed or deleted syncs later."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> syncIndexTtl = Property.ofValue(SyncIndex.DEFAULT_TTL);
+
     @Schema(
         title = "Force full resynchronization",
         description = "Default false. Sends fullResync=true so Hightouch reloads all rows instead of incremental changes."
@@ -128,12 +228,28 @@ public class Sync extends AbstractHightouchConnection implements RunnableTask<Sy
     private Property<Boolean> wait = Property.ofValue(true);
 
     @Schema(
-        title = "Maximum wait duration",
-        description = "Defaults to 5 minutes. Polls run status every second until a terminal state or this limit is reached."
+        title = "Fetch sync details concurrently with the trigger",
+        description = "Default false. When true, the sync details lookup no longer delays the trigger request."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> fetchDetailsConcurrently = Property.ofValue(false);
+
+    @Schema(
+        title = "What to do when the sync is already running",
+        description = "Defaults to TRIGGER, which always triggers a new run. ATTACH awaits the run in progress instead, if any. QUEUE waits for the run in progress to end, then triggers a new one. With ATTACH and QUEUE, tasks of the same worker asking for the same sync at the same time also share a single trigger."
     )
     @Builder.Default
     @PluginProperty(group = "execution")
-    private Property<Duration> maxDuration = Property.ofValue(Duration.ofMinutes(5));
+    private Property<OnAlreadyRunning> onAlreadyRunning = Property.ofValue(OnAlreadyRunning.TRIGGER);
+
+    @Schema(
+        title = "Reattach to the run of a previous attempt",
+        description = "Default true. The triggered runId is saved in the namespace KV store right after the trigger, so that a retry of the task run, or its resubmission after a worker crash, awaits that run instead of triggering the sync again. A new run is only triggered if the previous one ended unsuccessfully."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> reattachOnRetry = Property.ofValue(true);
 
     @Builder.Default
     @Getter(AccessLevel.NONE)
@@ -141,135 +257,203 @@ public class Sync extends AbstractHightouchConnection implements RunnableTask<Sy
 
     @Override
     public Sync.Output run(RunContext runContext) throws Exception {
-        Logger logger = runContext.logger();
+        Optional<Long> rSyncId = runContext.render(this.syncId).as(Long.class);
+        Optional<String> rSyncSlug = runContext.render(this.syncSlug).as(String.class);
+
+        if (rSyncId.isPresent() == rSyncSlug.isPresent()) {
+            throw new IllegalArgumentException("Exactly one of syncId or syncSlug must be set");
+        }
+
+        try (HightouchClient client = this.client(runContext)) {
+            String syncId = rSyncId.isPresent()
+                ? rSyncId.get().toString()
+                : SyncIndex.of(client.key()).resolve(
+                    runContext,
+                    new SyncRunner(client, runContext.logger()),
+                    rSyncSlug.get(),
+                    runContext.render(this.syncIndexTtl).as(Duration.class).orElse(SyncIndex.DEFAULT_TTL)
+                ).toString();
+
+            return this.run(runContext, client, syncId);
+        }
+    }
 
-        final String syncId = runContext.render(this.syncId).as(Long.class).orElseThrow().toString();
+    private Sync.Output run(RunContext runContext, HightouchClient client, String syncId) throws Exception {
+        SyncRunner runner = new SyncRunner(client, runContext.logger());
 
         // Get details of sync to display slug
-        HttpResponse<SyncDetailsResponse> syncDetails = this.request(
-            "GET",
-            String.format("/api/v1/syncs/%s", syncId),
-            "{}",
-            SyncDetailsResponse.class,
-            runContext
+        CompletableFuture<SyncDetailsResponse> details = runner.details(
+            syncId,
+            runContext.render(this.syncDetailsCacheTtl).as(Duration.class).orElse(null),
+            runContext.render(this.fetchDetailsConcurrently).as(Boolean.class).orElse(false)
         );
 
-        // Trigger sync run
-        HttpResponse<Run> jobInfoRead = this.request(
-            "POST",
-            String.format("/api/v1/syncs/%s/trigger", syncId),
-            String.format(
-                "{\"fullResync\": %s}",
-                runContext.render(this.fullResynchronization).as(Boolean.class).orElse(false)
-            ),
-            Run.class,
-            runContext
-        );
+        Duration rMaxDuration = runContext.render(this.maxDuration).as(Duration.class).orElseThrow();
+        Optional<String> checkpoint = runContext.render(this.reattachOnRetry).as(Boolean.class).orElse(true)
+            ? RunCheckpoint.key(runContext, syncId)
+            : Optional.empty();
+
+        Long runId = checkpoint.isPresent() ? this.reattach(runContext, runner, syncId, checkpoint.get(), rMaxDuration) : null;
+        // only the runs nobody else awaits may be cancelled
+        boolean owned = true;
+        SyncDetailsResponse syncDetails;
+        SharedTriggers.Claim claim = null;
+
+        try {
+            if (runId != null) {
+                syncDetails = runner.attached(details, runId, "triggered by a previous attempt");
+            } else {
+                boolean rFullResynchronization = runContext.render(this.fullResynchronization).as(Boolean.class).orElse(false);
+                OnAlreadyRunning rOnAlreadyRunning = runContext.render(this.onAlreadyRunning).as(OnAlreadyRunning.class).orElse(OnAlreadyRunning.TRIGGER);
+
+                if (rOnAlreadyRunning == OnAlreadyRunning.TRIGGER) {
+                    // Trigger sync run
+                    runId = runner.trigger(syncId, rFullResynchronization);
+                    syncDetails = runner.triggered(details, runId);
+                } else {
+                    owned = false;
+                    // ATTACH and QUEUE do not start the same run, tasks only share a claim with the ones of the same mode
+                    claim = SharedTriggers.SHARED.claim(client.key() + "/" + syncId + "/" + rFullResynchronization + "/" + rOnAlreadyRunning);
+
+                    if (claim.owner()) {
+                        runId = this.start(runContext, runner, claim, syncId, rFullResynchronization, rOnAlreadyRunning, details, rMaxDuration);
+                        syncDetails = SyncRunner.resolve(details);
+                    } else {
+                        runId = claim.join();
+                        syncDetails = runner.attached(details, runId, "started by another task");
+                    }
+                }
 
-        Long runId = jobInfoRead.getBody().getId();
-        logger.info("[syncId={}] {}: Job triggered with runId {}", syncDetails.getBody().getId(), syncDetails.getBody().getSlug(), runId);
+                if (checkpoint.isPresent()) {
+                    this.checkpoint(runContext, checkpoint.get(), new RunCheckpoint(syncId, runId, Instant.now()));
+                }
+            }
 
-        if (!runContext.render(wait).as(Boolean.class).orElseThrow()) {
-            return Output.builder()
-                .runId(runId)
-                .build();
-        }
+            if (!runContext.render(wait).as(Boolean.class).orElseThrow()) {
+                return Output.builder()
+                    .runId(runId)
+                    .build();
+            }
 
-        RunDetails finalJobStatus = Await.until(
-            throwSupplier(() ->
-            {
-                HttpResponse<RunDetailsResponse> runDetailsResponse = this.request(
-                    "GET",
-                    String.format("/api/v1/syncs/%s/runs?runId=%s", syncId, runId),
-                    "{}",
-                    RunDetailsResponse.class,
-                    runContext
-                );
-
-                List<RunDetails> runs = runDetailsResponse.getBody().getData();
-
-                if (runs.isEmpty()) {
-                    logger.debug(
-                        "[Hightouch] No runs found yet for syncId={} runId={} — retrying",
-                        syncId, runId
-                    );
-                    return null;
-                }
+            return this.await(
+                runContext,
+                runner,
+                syncId,
+                runId,
+                syncDetails,
+                owned,
+                () -> checkpoint.ifPresent(key -> this.checkpoint(runContext, key, null))
+            );
+        } finally {
+            if (claim != null) {
+                claim.close();
+            }
+        }
+    }
 
-                RunDetails runDetails = runs.stream()
-                    .filter(r -> r.getId().equals(runId))
-                    .findFirst()
-                    .orElse(null);
-
-                if (runDetails == null) {
-                    logger.debug(
-                        "[Hightouch] runId={} not yet visible in /runs response ({} total runs) — retrying",
-                        runId, runs.size()
-                    );
-                    return null;
-                }
+    /**
+     * Start or pick the run to await following onAlreadyRunning, and publish it to the tasks joining the claim.
+     */
+    private Long start(
+        RunContext runContext,
+        SyncRunner runner,
+        SharedTriggers.Claim claim,
+        String syncId,
+        boolean fullResynchronization,
+        OnAlreadyRunning onAlreadyRunning,
+        CompletableFuture<SyncDetailsResponse> details,
+        Duration maxDuration
+    ) throws Exception {
+        try {
+            Long runId = runner.activeRun(syncId);
+
+            if (runId != null && onAlreadyRunning == OnAlreadyRunning.QUEUE) {
+                runContext.logger().info("Sync {} is already running with runId {}, waiting for it to end before triggering", syncId, runId);
+                runner.await(syncId, runId, SyncRunner.resolve(details), PollingSchedule.of(runContext, this.pollingPolicy), maxDuration, new RunTimeline());
+                runId = null;
+            }
 
-                logger.info(
-                    "[Hightouch] syncId={} runId={} current status='{}'",
-                    syncId, runId, runDetails.getStatus()
-                );
+            if (runId != null) {
+                runner.attached(details, runId, "already running");
+            } else {
+                runId = runner.trigger(syncId, fullResynchronization);
+                runner.triggered(details, runId);
+            }
 
-                sendLog(logger, syncDetails.getBody(), runDetails);
+            claim.publish(runId);
 
-                if (ENDED_STATUS.contains(runDetails.getStatus())) {
-                    return runDetails;
-                }
+            return runId;
+        } catch (Exception e) {
+            claim.fail(e);
+            throw e;
+        }
+    }
 
-                return null;
-            }),
-            STATUS_REFRESH_RATE,
-            runContext.render(this.maxDuration).as(Duration.class).orElseThrow()
-        );
+    /**
+     * @return the run triggered by a previous attempt of this task run if it can be awaited, null to trigger a new one.
+     */
+    private Long reattach(RunContext runContext, SyncRunner runner, String syncId, String key, Duration maxDuration) throws Exception {
+        Optional<RunCheckpoint> previous;
+        try {
+            previous = RunCheckpoint.get(runContext, key);
+        } catch (Exception e) {
+            runContext.logger().warn("Unable to read the run triggered by a previous attempt, triggering a new run", e);
+            return null;
+        }
 
-        if (!List.of(RunStatus.SUCCESS, RunStatus.COMPLETED_WITH_ERRORS, RunStatus.WARNING).contains(finalJobStatus.getStatus())) {
-            var createdAt = finalJobStatus.getCreatedAt();
-            var finishedAt = finalJobStatus.getFinishedAt();
+        if (previous.isEmpty() || !previous.get().syncId().equals(syncId)) {
+            return null;
+        }
 
-            String durationHumanized = finishedAt != null
-                ? DurationFormatUtils.formatDurationHMS(Duration.between(createdAt, finishedAt).toMillis())
-                : "N/A";
+        Long runId = previous.get().runId();
+        RunDetails run = runner.fetchRun(syncId, runId);
 
-            if (finishedAt == null) {
-                logger.warn("Run {} has null finishedAt - duration set to N/A", finalJobStatus.getId());
-            }
+        if (run == null) {
+            // not visible yet, or long gone
+            return previous.get().triggeredAt().plus(maxDuration).isAfter(Instant.now()) ? runId : null;
+        }
 
-            throw new RuntimeException(
-                "Failed run with status '" + finalJobStatus.getStatus() +
-                    "' after " + durationHumanized + ": " + finalJobStatus.getStatus()
-            );
+        if (SyncRunner.ENDED_STATUS.contains(run.getStatus()) && !SyncRunner.SUCCESS_STATUS.contains(run.getStatus())) {
+            runContext.logger().info("Run {} triggered by a previous attempt ended with status '{}', triggering a new run", runId, run.getStatus());
+            return null;
         }
 
-        if (
-            finalJobStatus.getStatus() == RunStatus.COMPLETED_WITH_ERRORS
-                || finalJobStatus.getStatus() == RunStatus.WARNING
-        ) {
-            logger.warn(
-                "Run completed with errors (runId={}): {} failed rows", runId,
-                finalJobStatus.getFailedRows()
-            );
+        return runId;
+    }
+
+    /**
+     * Checkpoint failures are only logged: failing the task after the trigger would cause the very re-trigger that
+     * checkpoints are meant to avoid.
+     *
+     * @param checkpoint null to delete the checkpoint.
+     */
+    private void checkpoint(RunContext runContext, String key, RunCheckpoint checkpoint) {
+        try {
+            if (checkpoint != null) {
+                checkpoint.put(runContext, key);
+            } else {
+                RunCheckpoint.delete(runContext, key);
+            }
+        } catch (Exception e) {
+            runContext.logger().warn("Unable to store the triggered run for a later reattach", e);
         }
+    }
+
+    public enum OnTimeout {
+        CANCEL,
+        DETACH,
+        FAIL
+    }
 
-        runContext.metric(Counter.of("completion.ratio", finalJobStatus.getCompletionRatio()));
-        runContext.metric(Counter.of("rows.successfully.added", finalJobStatus.getSuccessfulRows().getAddedCount()));
-        runContext.metric(Counter.of("rows.successfully.removed", finalJobStatus.getSuccessfulRows().getRemovedCount()));
-        runContext.metric(Counter.of("rows.successfully.changed", finalJobStatus.getSuccessfulRows().getChangedCount()));
-        runContext.metric(Counter.of("rows.failed.added", finalJobStatus.getFailedRows().getAddedCount()));
-        runContext.metric(Counter.of("rows.failed.removed", finalJobStatus.getFailedRows().getRemovedCount()));
-        runContext.metric(Counter.of("rows.failed.changed", finalJobStatus.getFailedRows().getChangedCount()));
-
-        return Output.builder()
-            .runId(runId)
-            .metadata(finalJobStatus)
-            .build();
+    public enum Completion {
+        POLLING,
+        WEBHOOK
     }
 
-    private void sendLog(Logger logger, SyncDetailsResponse syncDetails, RunDetails run) {
-        logger.info("[syncId={}] {}: [runId={}] is now {}", syncDetails.getId(), syncDetails.getSlug(), run.getId(), run.getStatus());
+    public enum OnAlreadyRunning {
+        ATTACH,
+        QUEUE,
+        TRIGGER
     }
 
     @Builder
@@ -283,5 +467,11 @@ public class Sync extends AbstractHightouchConnection implements RunnableTask<Sy
 
         @Schema(title = "Sync run metadata")
         private final RunDetails metadata;
+
+        @Schema(
+            title = "Run status transitions",
+            description = "Each status the run went through, with the time it was first observed while polling."
+        )
+        private final List<StatusTransition> timeline;
     }
 }
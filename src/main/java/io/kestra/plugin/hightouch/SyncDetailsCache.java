@@ -0,0 +1,74 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.kestra.plugin.hightouch.models.SyncDetailsResponse;
+
+/**
+ * Worker-wide, size-bounded LRU cache of sync details, keyed by API credentials and sync id.
+ * <p>
+ * Entries keep the {@code ETag} and {@code Last-Modified} validators of the response they come from, so that a stale
+ * entry can be revalidated with a conditional request instead of being downloaded again.
+ */
+final class SyncDetailsCache {
+    static final int MAX_ENTRIES = 1000;
+
+    static final SyncDetailsCache SHARED = new SyncDetailsCache(MAX_ENTRIES);
+
+    private final Map<String, Entry> entries;
+
+    SyncDetailsCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    synchronized void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    record Entry(SyncDetailsResponse details, String etag, String lastModified, Instant fetchedAt) {
+        boolean isFresh(Duration ttl, Instant now) {
+            return fetchedAt.plus(ttl).isAfter(now);
+        }
+
+        /**
+         * @return the validators to send to only download the details again if they changed.
+         */
+        Map<String, String> conditionalHeaders() {
+            Map<String, String> headers = new LinkedHashMap<>();
+
+            if (etag != null) {
+                headers.put("If-None-Match", etag);
+            }
+
+            if (lastModified != null) {
+                headers.put("If-Modified-Since", lastModified);
+            }
+
+            return headers;
+        }
+
+        Entry revalidated(Instant now) {
+            return new Entry(details, etag, lastModified, now);
+        }
+    }
+}
@@ -0,0 +1,637 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.slf4j.Logger;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+import io.kestra.plugin.hightouch.models.StatusTransition;
+import io.kestra.plugin.hightouch.models.SyncDetailsResponse;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Run a dependency graph of Hightouch syncs",
+    description = "Starts each sync as soon as all the syncs it depends on succeeded, instead of waiting for a whole stage of siblings, with at most `concurrency` syncs running at a time. When a sync fails, the syncs depending on it are skipped and the independent branches keep running (failureMode=SKIP_DEPENDENTS, default), the task then ending FAILED while still returning its outputs; or no new sync is started, the running ones are abandoned and the task fails without outputs (FAIL_FAST). The output reports each sync, the critical path of the graph and the time saved compared with running the syncs one after the other."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            title = "Sync audiences once the base user sync succeeded",
+            code = """
+                id: hightouch_sync_graph
+                namespace: company.team
+
+                tasks:
+                  - id: syncs
+                    type: io.kestra.plugin.hightouch.SyncGraph
+                    token: "{{ secret('HIGHTOUCH_API_TOKEN') }}"
+                    concurrency: 4
+                    syncs:
+                      - syncId: 1127166
+                        fullResynchronization: true
+                        maxDuration: PT1H
+                      - syncId: 1127167
+                        dependsOn: [1127166]
+                      - syncId: 1127168
+                        dependsOn: [1127166]
+                      - syncId: 1127169
+                        dependsOn: [1127167, 1127168]
+                """
+        )
+    },
+    metrics = {
+        @Metric(
+            name = "syncs.succeeded",
+            type = Counter.TYPE,
+            description = "Number of syncs that ended successfully."
+        ),
+        @Metric(
+            name = "syncs.failed",
+            type = Counter.TYPE,
+            description = "Number of syncs that failed, were cancelled or timed out."
+        ),
+        @Metric(
+            name = "syncs.skipped",
+            type = Counter.TYPE,
+            description = "Number of syncs not started because a sync they depend on did not succeed."
+        ),
+        @Metric(
+            name = "graph.duration",
+            type = Timer.TYPE,
+            description = "Wall-clock time to run the whole graph."
+        ),
+        @Metric(
+            name = "graph.time.saved",
+            type = Timer.TYPE,
+            description = "Sum of the sync durations minus the wall-clock time of the graph."
+        ),
+        @Metric(
+            name = SyncRunner.COMPLETION_RATIO,
+            type = Counter.TYPE,
+            description = SyncRunner.COMPLETION_RATIO_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_ADDED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_ADDED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_REMOVED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_REMOVED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_CHANGED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_CHANGED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_ADDED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_ADDED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_REMOVED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_REMOVED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_CHANGED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_CHANGED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITER_WAIT,
+            type = Timer.TYPE,
+            description = HttpMetrics.RATE_LIMITER_WAIT_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITED_RETRIES,
+            type = Counter.TYPE,
+            description = HttpMetrics.RATE_LIMITED_RETRIES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUEST_DURATION,
+            type = Timer.TYPE,
+            description = HttpMetrics.REQUEST_DURATION_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUESTS,
+            type = Counter.TYPE,
+            description = HttpMetrics.REQUESTS_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSE_SIZE,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSE_SIZE_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSE_WIRE_SIZE,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSE_WIRE_SIZE_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSES,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.POLLS,
+            type = Counter.TYPE,
+            description = HttpMetrics.POLLS_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.POLL_RETRIES,
+            type = Counter.TYPE,
+            description = HttpMetrics.POLL_RETRIES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.HEDGED_REQUESTS,
+            type = Counter.TYPE,
+            description = HttpMetrics.HEDGED_REQUESTS_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_QUEUED,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_QUEUED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_QUERYING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_QUERYING_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_PROCESSING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_PROCESSING_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_REPORTING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_REPORTING_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.ROWS_PER_SECOND,
+            type = Counter.TYPE,
+            description = RunTimeline.ROWS_PER_SECOND_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.ROWS_PLANNED_RATIO,
+            type = Counter.TYPE,
+            description = RunTimeline.ROWS_PLANNED_RATIO_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        )
+    }
+)
+public class SyncGraph extends AbstractHightouchConnection implements RunnableTask<SyncGraph.Output> {
+    @Schema(
+        title = "Syncs of the graph",
+        description = "Each sync lists the syncs it depends on in `dependsOn`; the graph must not contain cycles."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private List<Node> syncs;
+
+    @Schema(
+        title = "Maximum number of syncs running at the same time",
+        description = "Defaults to 10."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> concurrency = Property.ofValue(10);
+
+    @Schema(
+        title = "Failure handling",
+        description = "Defaults to SKIP_DEPENDENTS: the outputs are returned and the task state is FAILED if any sync failed or was skipped. FAIL_FAST throws once the graph is abandoned, so no output is returned."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<FailureMode> failureMode = Property.ofValue(FailureMode.SKIP_DEPENDENTS);
+
+    @Schema(
+        title = "Maximum wait duration per sync",
+        description = "Defaults to 5 minutes, counted from each sync trigger. Can be overridden per sync."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> maxDuration = Property.ofValue(Duration.ofMinutes(5));
+
+    @Schema(
+        title = "Run status polling policy",
+        description = "Defaults to a 1 second interval growing by 1.5x up to 30 seconds, reset on each phase change."
+    )
+    @PluginProperty(group = "execution")
+    private PollingPolicy pollingPolicy;
+
+    @Schema(
+        title = "Sync details cache TTL",
+        description = "Defaults to 10 minutes. Sync details (slug, configuration) are cached per worker and revalidated with ETag / If-Modified-Since once older than this; set to 0 to always fetch them."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> syncDetailsCacheTtl = Property.ofValue(Duration.ofMinutes(10));
+
+    @Override
+    public SyncGraph.Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        Map<Long, Planned> plan = this.plan(runContext);
+        int rConcurrency = Math.max(1, runContext.render(this.concurrency).as(Integer.class).orElse(10));
+        FailureMode rFailureMode = runContext.render(this.failureMode).as(FailureMode.class).orElse(FailureMode.SKIP_DEPENDENTS);
+        Duration rCacheTtl = runContext.render(this.syncDetailsCacheTtl).as(Duration.class).orElse(null);
+
+        Map<Long, NodeResult> results = new HashMap<>();
+        // timelines are filled on the sync threads, and turned into metrics on the task thread
+        Map<Long, RunTimeline> timelines = new ConcurrentHashMap<>();
+        Set<Long> pending = new LinkedHashSet<>(plan.keySet());
+        Instant start = Instant.now();
+
+        try (
+            HightouchClient client = this.client(runContext);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            SyncRunner runner = new SyncRunner(client, logger);
+            CompletionService<NodeResult> completion = new ExecutorCompletionService<>(executor);
+            int running = 0;
+            boolean stopping = false;
+
+            while (true) {
+                this.skipBlocked(plan, pending, results, logger);
+
+                if (!stopping) {
+                    for (Iterator<Long> iterator = pending.iterator(); iterator.hasNext() && running < rConcurrency; ) {
+                        Planned node = plan.get(iterator.next());
+                        if (node.dependsOn().stream().allMatch(dependency -> results.containsKey(dependency) && results.get(dependency).getStatus() == NodeStatus.SUCCEEDED)) {
+                            iterator.remove();
+                            PollingSchedule schedule = PollingSchedule.of(runContext, this.pollingPolicy);
+                            completion.submit(() -> this.runOne(runner, timelines, node, rCacheTtl, schedule));
+                            running++;
+                        }
+                    }
+                }
+
+                if (running == 0) {
+                    break;
+                }
+
+                NodeResult result = completion.take().get();
+                results.put(result.getSyncId(), result);
+                running--;
+
+                if (result.getStatus() == NodeStatus.FAILED && rFailureMode == FailureMode.FAIL_FAST && !stopping) {
+                    logger.error("[syncId={}] failed, abandoning the graph: {}", result.getSyncId(), result.getError());
+                    stopping = true;
+                    executor.shutdownNow();
+                }
+            }
+
+            // left over by FAIL_FAST
+            for (Long syncId : pending) {
+                results.put(syncId, NodeResult.builder().syncId(syncId).status(NodeStatus.SKIPPED).build());
+            }
+        }
+
+        Duration wallClock = Duration.between(start, Instant.now());
+        // plan is in topological order, the output follows the declaration order
+        List<NodeResult> nodes = plan.values().stream()
+            .sorted(Comparator.comparingInt(Planned::index))
+            .map(node -> results.get(node.syncId()))
+            .toList();
+        Duration serial = nodes.stream().map(NodeResult::duration).filter(Objects::nonNull).reduce(Duration.ZERO, Duration::plus);
+        Duration saved = serial.compareTo(wallClock) > 0 ? serial.minus(wallClock) : Duration.ZERO;
+        List<Long> criticalPath = criticalPath(plan, results);
+        Duration criticalPathDuration = criticalPath.stream().map(syncId -> results.get(syncId).duration()).reduce(Duration.ZERO, Duration::plus);
+
+        long succeeded = nodes.stream().filter(n -> n.getStatus() == NodeStatus.SUCCEEDED).count();
+        long failed = nodes.stream().filter(n -> n.getStatus() == NodeStatus.FAILED).count();
+        long skipped = nodes.size() - succeeded - failed;
+
+        runContext.metric(Counter.of("syncs.succeeded", succeeded));
+        runContext.metric(Counter.of("syncs.failed", failed));
+        runContext.metric(Counter.of("syncs.skipped", skipped));
+        runContext.metric(Timer.of("graph.duration", wallClock));
+        runContext.metric(Timer.of("graph.time.saved", saved));
+
+        nodes.stream()
+            .filter(n -> n.getStatus() == NodeStatus.SUCCEEDED)
+            .forEach(n -> {
+                SyncRunner.metrics(runContext, n.getMetadata(), "syncId", String.valueOf(n.getSyncId()));
+                timelines.get(n.getSyncId()).metrics(runContext, n.getMetadata(), "syncId", String.valueOf(n.getSyncId()));
+            });
+
+        logger.info(
+            "{} syncs succeeded, {} failed, {} skipped in {}; critical path {} took {}, {} saved over a serial run",
+            succeeded, failed, skipped, wallClock, criticalPath, criticalPathDuration, saved
+        );
+
+        if (failed > 0 || skipped > 0) {
+            nodes.stream()
+                .filter(n -> n.getStatus() == NodeStatus.FAILED)
+                .forEach(n -> logger.error("[syncId={}] failed: {}", n.getSyncId(), n.getError()));
+
+            if (rFailureMode == FailureMode.FAIL_FAST) {
+                throw new RuntimeException(failed + " of " + nodes.size() + " syncs failed and " + skipped + " were skipped");
+            }
+
+            logger.error("{} of {} syncs failed and {} were skipped", failed, nodes.size(), skipped);
+        }
+
+        return Output.builder()
+            .syncs(nodes)
+            .criticalPath(criticalPath)
+            .criticalPathDuration(criticalPathDuration)
+            .duration(wallClock)
+            .serialDuration(serial)
+            .timeSaved(saved)
+            .build();
+    }
+
+    /**
+     * Render the nodes, and check that every dependency is a node of the graph and that there is no cycle.
+     *
+     * @return the nodes by sync id, in a topological order.
+     */
+    private Map<Long, Planned> plan(RunContext runContext) throws Exception {
+        Duration rMaxDuration = runContext.render(this.maxDuration).as(Duration.class).orElseThrow();
+        Map<Long, Planned> nodes = new LinkedHashMap<>();
+
+        for (Node node : syncs) {
+            Long syncId = runContext.render(node.getSyncId()).as(Long.class).orElseThrow();
+            Planned planned = new Planned(
+                nodes.size(),
+                syncId,
+                runContext.render(node.getDependsOn()).asList(Long.class),
+                runContext.render(node.getFullResynchronization()).as(Boolean.class).orElse(false),
+                runContext.render(node.getMaxDuration()).as(Duration.class).orElse(rMaxDuration)
+            );
+
+            if (nodes.put(syncId, planned) != null) {
+                throw new IllegalArgumentException("Sync " + syncId + " is declared twice");
+            }
+        }
+
+        for (Planned node : nodes.values()) {
+            for (Long dependency : node.dependsOn()) {
+                if (!nodes.containsKey(dependency)) {
+                    throw new IllegalArgumentException("Sync " + node.syncId() + " depends on " + dependency + " which is not part of the graph");
+                }
+            }
+        }
+
+        // Kahn's algorithm
+        Map<Long, Planned> sorted = new LinkedHashMap<>();
+        while (sorted.size() < nodes.size()) {
+            List<Planned> ready = nodes.values().stream()
+                .filter(node -> !sorted.containsKey(node.syncId()) && sorted.keySet().containsAll(node.dependsOn()))
+                .toList();
+
+            if (ready.isEmpty()) {
+                List<Long> cycle = nodes.keySet().stream().filter(syncId -> !sorted.containsKey(syncId)).toList();
+                throw new IllegalArgumentException("Syncs " + cycle + " have circular dependencies");
+            }
+
+            ready.forEach(node -> sorted.put(node.syncId(), node));
+        }
+
+        return sorted;
+    }
+
+    /**
+     * Skip, transitively, the pending syncs depending on a sync that did not succeed.
+     */
+    private void skipBlocked(Map<Long, Planned> plan, Set<Long> pending, Map<Long, NodeResult> results, Logger logger) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            for (Iterator<Long> iterator = pending.iterator(); iterator.hasNext(); ) {
+                Planned node = plan.get(iterator.next());
+                Optional<Long> blocking = node.dependsOn().stream()
+                    .filter(dependency -> results.containsKey(dependency) && results.get(dependency).getStatus() != NodeStatus.SUCCEEDED)
+                    .findFirst();
+
+                if (blocking.isPresent()) {
+                    iterator.remove();
+                    results.put(node.syncId(), NodeResult.builder()
+                        .syncId(node.syncId())
+                        .status(NodeStatus.SKIPPED)
+                        .error("Dependency " + blocking.get() + " did not succeed")
+                        .build()
+                    );
+                    logger.warn("[syncId={}] skipped, dependency {} did not succeed", node.syncId(), blocking.get());
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private NodeResult runOne(SyncRunner runner, Map<Long, RunTimeline> timelines, Planned node, Duration cacheTtl, PollingSchedule schedule) {
+        String syncId = String.valueOf(node.syncId());
+        NodeResult.NodeResultBuilder result = NodeResult.builder().syncId(node.syncId()).startedAt(Instant.now());
+        RunTimeline timeline = timelines.computeIfAbsent(node.syncId(), id -> new RunTimeline());
+
+        try {
+            CompletableFuture<SyncDetailsResponse> details = runner.details(syncId, cacheTtl, true);
+            Long runId = runner.trigger(syncId, node.fullResynchronization());
+            result.runId(runId);
+
+            SyncDetailsResponse syncDetails = runner.triggered(details, runId);
+
+            RunDetails finalJobStatus = runner.await(syncId, runId, syncDetails, schedule, node.maxDuration(), timeline);
+            result.runStatus(finalJobStatus.getStatus()).metadata(finalJobStatus).timeline(timeline.transitions());
+
+            runner.check(finalJobStatus);
+            result.status(NodeStatus.SUCCEEDED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.status(NodeStatus.FAILED).error("Interrupted");
+        } catch (Exception e) {
+            result.status(NodeStatus.FAILED).error(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        }
+
+        return result.endedAt(Instant.now()).build();
+    }
+
+    /**
+     * The chain of dependent syncs that took the longest, which bounds the duration of the graph.
+     */
+    static List<Long> criticalPath(Map<Long, Planned> plan, Map<Long, NodeResult> results) {
+        Map<Long, Duration> longest = new HashMap<>();
+        Map<Long, Long> previous = new HashMap<>();
+        Long last = null;
+
+        // plan is in topological order, so dependencies are always resolved first
+        for (Planned node : plan.values()) {
+            Duration duration = results.get(node.syncId()).duration();
+            if (duration == null) {
+                continue;
+            }
+
+            Long before = null;
+            Duration upstream = Duration.ZERO;
+            for (Long dependency : node.dependsOn()) {
+                Duration candidate = longest.get(dependency);
+                if (candidate != null && candidate.compareTo(upstream) > 0) {
+                    upstream = candidate;
+                    before = dependency;
+                }
+            }
+
+            longest.put(node.syncId(), upstream.plus(duration));
+            previous.put(node.syncId(), before);
+
+            if (last == null || longest.get(node.syncId()).compareTo(longest.get(last)) > 0) {
+                last = node.syncId();
+            }
+        }
+
+        LinkedList<Long> path = new LinkedList<>();
+        for (Long syncId = last; syncId != null; syncId = previous.get(syncId)) {
+            path.addFirst(syncId);
+        }
+
+        return path;
+    }
+
+    /**
+     * @param index the position of the node in the syncs property.
+     */
+    record Planned(int index, Long syncId, List<Long> dependsOn, boolean fullResynchronization, Duration maxDuration) {
+    }
+
+    public enum FailureMode {
+        SKIP_DEPENDENTS,
+        FAIL_FAST
+    }
+
+    public enum NodeStatus {
+        SUCCEEDED,
+        FAILED,
+        SKIPPED
+    }
+
+    @Getter
+    @Builder
+    @Jacksonized
+    @Schema(title = "A sync of the graph")
+    public static class Node {
+        @Schema(title = "Hightouch sync ID")
+        @NotNull
+        @PluginProperty(group = "main")
+        private Property<Long> syncId;
+
+        @Schema(title = "Sync IDs that must succeed before this sync starts")
+        @PluginProperty(group = "main")
+        private Property<List<Long>> dependsOn;
+
+        @Schema(
+            title = "Force full resynchronization",
+            description = "Default false."
+        )
+        @Builder.Default
+        @PluginProperty(group = "advanced")
+        private Property<Boolean> fullResynchronization = Property.ofValue(false);
+
+        @Schema(
+            title = "Maximum wait duration",
+            description = "Defaults to the maxDuration of the task."
+        )
+        @PluginProperty(group = "execution")
+        private Property<Duration> maxDuration;
+    }
+
+    @Builder
+    @Getter
+    public static class NodeResult {
+        @Schema(title = "Hightouch sync ID")
+        private final Long syncId;
+
+        @Schema(title = "Hightouch run ID", description = "Null if the sync was not triggered.")
+        private final Long runId;
+
+        @Schema(title = "Outcome of the sync in the graph")
+        private final NodeStatus status;
+
+        @Schema(title = "Final run status")
+        private final RunStatus runStatus;
+
+        @Schema(title = "Failure or skip reason")
+        private final String error;
+
+        @Schema(title = "When the sync was started")
+        private final Instant startedAt;
+
+        @Schema(title = "When the sync ended")
+        private final Instant endedAt;
+
+        @Schema(title = "Sync run metadata")
+        private final RunDetails metadata;
+
+        @Schema(title = "Observed run status changes")
+        private final List<StatusTransition> timeline;
+
+        Duration duration() {
+            return startedAt != null && endedAt != null ? Duration.between(startedAt, endedAt) : null;
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Result of each sync",
+            description = "In the order of the syncs property."
+        )
+        private final List<NodeResult> syncs;
+
+        @Schema(
+            title = "Critical path",
+            description = "The chain of dependent syncs that took the longest, from the first to start to the last to end."
+        )
+        private final List<Long> criticalPath;
+
+        @Schema(title = "Duration of the critical path")
+        private final Duration criticalPathDuration;
+
+        @Schema(title = "Wall-clock duration of the graph")
+        private final Duration duration;
+
+        @Schema(title = "Sum of the sync durations, the time a serial run would have taken")
+        private final Duration serialDuration;
+
+        @Schema(title = "Wall-clock time saved compared with a serial run")
+        private final Duration timeSaved;
+
+        @JsonIgnore
+        @Override
+        public Optional<State.Type> finalState() {
+            return syncs.stream().anyMatch(n -> n.getStatus() != NodeStatus.SUCCEEDED) ? Optional.of(State.Type.FAILED) : io.kestra.core.models.tasks.Output.super.finalState();
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package io.kestra.plugin.hightouch;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.SyncDetailsResponse;
+
+/**
+ * Slug to id index of the syncs of a workspace, shared by every task of the worker using the same API credentials
+ * and persisted in the namespace KV store, so that resolving a slug usually costs no API call.
+ * <p>
+ * An entry is trusted for the TTL given by the task after it was last checked against the API, {@link #DEFAULT_TTL}
+ * unless configured; past that, a single slug is checked again with a filtered sync listing. Glob selectors need the
+ * whole workspace: the index is then refreshed from the full sync listing, at most once per TTL. Entries are only rewritten when the {@code updatedAt}
+ * of their sync moved, and the KV store of a namespace is only written when the index changed since it was last
+ * written there.
+ * <p>
+ * API calls are made outside the lock of the index, and concurrent tasks needing the same listing share a single
+ * call.
+ */
+final class SyncIndex {
+    static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    private static final ConcurrentMap<String, SyncIndex> SHARED = new ConcurrentHashMap<>();
+    private static final String FULL_LISTING = "";
+
+    private final String kvKey;
+    private final Map<String, Entry> bySlug = new HashMap<>();
+    private final Map<Long, String> byId = new HashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<List<SyncDetailsResponse>>> listings = new ConcurrentHashMap<>();
+    private final Set<String> loadedNamespaces = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, Long> savedVersions = new ConcurrentHashMap<>();
+    private Instant refreshedAt;
+    private long version;
+
+    SyncIndex(String kvKey) {
+        this.kvKey = kvKey;
+    }
+
+    /**
+     * @param clientKey see {@link HightouchClient#key()}.
+     */
+    static SyncIndex of(String clientKey) {
+        // the credentials digest is enough to tell workspaces apart, and is safe to show in the KV store
+        String digest = clientKey.substring(clientKey.indexOf('#') + 1);
+
+        return SHARED.computeIfAbsent(clientKey, key -> new SyncIndex(KvState.key("hightouch_sync_index", digest)));
+    }
+
+    /**
+     * @param ttl how long an entry is trusted after it was last checked against the API.
+     * @throws IllegalArgumentException if no sync of the workspace has this slug.
+     */
+    Long resolve(RunContext runContext, SyncRunner runner, String slug, Duration ttl) throws Exception {
+        this.load(runContext);
+
+        Instant now = Instant.now();
+        synchronized (this) {
+            Entry entry = bySlug.get(slug);
+            if (entry != null && entry.checkedAt().plus(ttl).isAfter(now)) {
+                return entry.id();
+            }
+        }
+
+        SyncDetailsResponse found = this.list(runner, "slug=" + URLEncoder.encode(slug, StandardCharsets.UTF_8)).stream()
+            .filter(sync -> slug.equals(sync.getSlug()))
+            .findFirst()
+            .orElse(null);
+
+        synchronized (this) {
+            if (found != null) {
+                this.upsert(found, now);
+            } else if (bySlug.remove(slug) != null) {
+                version++;
+            }
+        }
+
+        this.save(runContext);
+
+        if (found == null) {
+            throw new IllegalArgumentException("No Hightouch sync has the slug '" + slug + "'");
+        }
+
+        return found.getId();
+    }
+
+    /**
+     * @param globs glob patterns of slugs, for example {@code prod-*}, see {@link #glob(String)}.
+     * @param ttl how long the index is trusted after it was last refreshed from the full sync listing.
+     * @return the ids of the syncs whose slug matches any of the patterns, ordered by slug.
+     */
+    List<Long> match(RunContext runContext, SyncRunner runner, List<String> globs, Duration ttl) throws Exception {
+        this.load(runContext);
+
+        Instant now = Instant.now();
+        boolean stale;
+        synchronized (this) {
+            stale = refreshedAt == null || !refreshedAt.plus(ttl).isAfter(now);
+        }
+
+        if (stale) {
+            List<SyncDetailsResponse> syncs = this.list(runner, FULL_LISTING);
+
+            synchronized (this) {
+                this.refresh(syncs, now);
+            }
+
+            this.save(runContext);
+        }
+
+        List<Pattern> patterns = globs.stream()
+            .map(SyncIndex::glob)
+            .toList();
+
+        Map<String, Entry> snapshot;
+        synchronized (this) {
+            snapshot = new TreeMap<>(bySlug);
+        }
+
+        return snapshot.entrySet().stream()
+            .filter(entry -> patterns.stream().anyMatch(pattern -> pattern.matcher(entry.getKey()).matches()))
+            .map(entry -> entry.getValue().id())
+            .toList();
+    }
+
+    /**
+     * Match the whole slug, where {@code *} stands for any characters, {@code /} included, and {@code ?} for a single
+     * one. Every other character is taken literally.
+     */
+    static Pattern glob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int literal = 0;
+
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (i > literal) {
+                    regex.append(Pattern.quote(glob.substring(literal, i)));
+                }
+
+                regex.append(c == '*' ? ".*" : ".");
+                literal = i + 1;
+            }
+        }
+
+        if (glob.length() > literal) {
+            regex.append(Pattern.quote(glob.substring(literal)));
+        }
+
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    /**
+     * List the syncs matching the query, joining the call of another task if one is already in flight.
+     *
+     * @param query a sync listing filter, {@link #FULL_LISTING} for every sync of the workspace.
+     */
+    private List<SyncDetailsResponse> list(SyncRunner runner, String query) throws Exception {
+        CompletableFuture<List<SyncDetailsResponse>> listing = new CompletableFuture<>();
+        CompletableFuture<List<SyncDetailsResponse>> inFlight = listings.putIfAbsent(query, listing);
+
+        if (inFlight == null) {
+            try {
+                List<SyncDetailsResponse> syncs = new ArrayList<>();
+                if (query.equals(FULL_LISTING)) {
+                    runner.paginateSyncs(query, 100, syncs::add);
+                } else {
+                    runner.listSyncs(query, 10, 0, syncs::add);
+                }
+
+                listing.complete(syncs);
+            } catch (Exception e) {
+                listing.completeExceptionally(e);
+            } finally {
+                listings.remove(query, listing);
+            }
+
+            inFlight = listing;
+        }
+
+        return SyncRunner.resolve(inFlight);
+    }
+
+    private void refresh(List<SyncDetailsResponse> syncs, Instant now) {
+        syncs.forEach(sync -> this.upsert(sync, now));
+
+        // syncs missing from the listing were deleted
+        List<String> deleted = bySlug.entrySet().stream()
+            .filter(entry -> entry.getValue().checkedAt().isBefore(now))
+            .map(Map.Entry::getKey)
+            .toList();
+
+        deleted.forEach(slug -> byId.remove(bySlug.remove(slug).id()));
+        if (!deleted.isEmpty()) {
+            version++;
+        }
+
+        refreshedAt = now;
+    }
+
+    private void upsert(SyncDetailsResponse sync, Instant now) {
+        if (sync.getId() == null || sync.getSlug() == null) {
+            return;
+        }
+
+        Entry previous = bySlug.get(sync.getSlug());
+
+        // a renamed sync keeps its id
+        String previousSlug = byId.put(sync.getId(), sync.getSlug());
+        if (previousSlug != null && !previousSlug.equals(sync.getSlug())) {
+            bySlug.remove(previousSlug);
+        }
+
+        if (previous == null || !previous.id().equals(sync.getId()) || !Objects.equals(previous.updatedAt(), sync.getUpdatedAt())) {
+            version++;
+        }
+
+        bySlug.put(sync.getSlug(), new Entry(sync.getId(), sync.getUpdatedAt(), now));
+    }
+
+    /**
+     * Merge the index saved in the KV store of the namespace of the task, once per namespace.
+     */
+    private void load(RunContext runContext) {
+        if (!loadedNamespaces.add(namespace(runContext))) {
+            return;
+        }
+
+        Optional<Map<String, Object>> saved;
+        try {
+            saved = KvState.get(runContext, kvKey);
+        } catch (Exception e) {
+            runContext.logger().warn("Unable to read the Hightouch sync index, it will be rebuilt", e);
+            return;
+        }
+
+        saved.ifPresent(value -> {
+            synchronized (this) {
+                if (value.get("refreshedAt") != null) {
+                    Instant savedRefreshedAt = Instant.parse(value.get("refreshedAt").toString());
+                    if (refreshedAt == null || savedRefreshedAt.isAfter(refreshedAt)) {
+                        refreshedAt = savedRefreshedAt;
+                    }
+                }
+
+                if (value.get("syncs") instanceof Map<?, ?> syncs) {
+                    syncs.forEach((slug, entry) -> Entry.of(entry).ifPresent(e -> {
+                        Entry current = bySlug.get(slug.toString());
+                        if (current == null || current.checkedAt().isBefore(e.checkedAt())) {
+                            bySlug.put(slug.toString(), e);
+                            byId.put(e.id(), slug.toString());
+                        }
+                    }));
+                }
+            }
+        });
+    }
+
+    /**
+     * The index is only a cache: failing to persist it never fails the task.
+     */
+    private void save(RunContext runContext) {
+        String namespace = namespace(runContext);
+        Map<String, Object> value = new HashMap<>();
+        long saving;
+
+        synchronized (this) {
+            saving = version;
+            if (savedVersions.getOrDefault(namespace, -1L) == saving) {
+                return;
+            }
+
+            Map<String, Object> syncs = new HashMap<>();
+            bySlug.forEach((slug, entry) -> syncs.put(slug, entry.toMap()));
+
+            value.put("refreshedAt", refreshedAt != null ? refreshedAt.toString() : null);
+            value.put("syncs", syncs);
+        }
+
+        try {
+            KvState.put(runContext, kvKey, value, "Hightouch sync slug index", null);
+            savedVersions.put(namespace, saving);
+        } catch (Exception e) {
+            runContext.logger().warn("Unable to store the Hightouch sync index", e);
+        }
+    }
+
+    private static String namespace(RunContext runContext) {
+        return Objects.requireNonNullElse(runContext.flowInfo().namespace(), "");
+    }
+
+    record Entry(Long id, Instant updatedAt, Instant checkedAt) {
+        static Optional<Entry> of(Object value) {
+            if (!(value instanceof Map<?, ?> map) || !(map.get("id") instanceof Number id) || map.get("checkedAt") == null) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new Entry(
+                id.longValue(),
+                map.get("updatedAt") != null ? Instant.parse(map.get("updatedAt").toString()) : null,
+                Instant.parse(map.get("checkedAt").toString())
+            ));
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("id", id);
+            map.put("updatedAt", updatedAt != null ? updatedAt.toString() : null);
+            map.put("checkedAt", checkedAt.toString());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import org.slf4j.Logger;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+import io.kestra.plugin.hightouch.models.StatusTransition;
+import io.kestra.plugin.hightouch.models.SyncDetailsResponse;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Trigger and monitor several Hightouch syncs",
+    description = "Triggers every sync in syncIds or matching syncSlugs and waits for all of them from a single task, running at most `concurrency` syncs at a time on virtual threads. With failureMode=COLLECT_ALL (default) every sync is awaited and, if any failed, the task ends FAILED while still returning the result of each sync; with FAIL_FAST the first failure stops waiting on the others and the task fails without outputs."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            title = "Run several Hightouch syncs, four at a time",
+            code = """
+                id: hightouch_sync_many
+                namespace: company.team
+
+                tasks:
+                  - id: syncs
+                    type: io.kestra.plugin.hightouch.SyncMany
+                    token: "{{ secret('HIGHTOUCH_API_TOKEN') }}"
+                    syncIds:
+                      - 1127166
+                      - 1127167
+                      - 1127168
+                    concurrency: 4
+                """
+        )
+    },
+    metrics = {
+        @Metric(
+            name = "syncs.succeeded",
+            type = Counter.TYPE,
+            description = "Number of syncs that ended successfully."
+        ),
+        @Metric(
+            name = "syncs.failed",
+            type = Counter.TYPE,
+            description = "Number of syncs that failed, were cancelled or timed out."
+        ),
+        @Metric(
+            name = SyncRunner.COMPLETION_RATIO,
+            type = Counter.TYPE,
+            description = SyncRunner.COMPLETION_RATIO_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_ADDED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_ADDED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_REMOVED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_REMOVED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_CHANGED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_CHANGED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_ADDED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_ADDED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_REMOVED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_REMOVED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_CHANGED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_CHANGED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITER_WAIT,
+            type = Timer.TYPE,
+            description = HttpMetrics.RATE_LIMITER_WAIT_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITED_RETRIES,
+            type = Counter.TYPE,
+            description = HttpMetrics.RATE_LIMITED_RETRIES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUEST_DURATION,
+            type = Timer.TYPE,
+            description = HttpMetrics.REQUEST_DURATION_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUESTS,
+            type = Counter.TYPE,
+            description = HttpMetrics.REQUESTS_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSE_SIZE,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSE_SIZE_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSE_WIRE_SIZE,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSE_WIRE_SIZE_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSES,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.POLLS,
+            type = Counter.TYPE,
+            description = HttpMetrics.POLLS_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.POLL_RETRIES,
+            type = Counter.TYPE,
+            description = HttpMetrics.POLL_RETRIES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.HEDGED_REQUESTS,
+            type = Counter.TYPE,
+            description = HttpMetrics.HEDGED_REQUESTS_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_QUEUED,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_QUEUED_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_QUERYING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_QUERYING_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_PROCESSING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_PROCESSING_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_REPORTING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_REPORTING_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.ROWS_PER_SECOND,
+            type = Counter.TYPE,
+            description = RunTimeline.ROWS_PER_SECOND_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.ROWS_PLANNED_RATIO,
+            type = Counter.TYPE,
+            description = RunTimeline.ROWS_PLANNED_RATIO_DESCRIPTION + SyncRunner.PER_SYNC_DESCRIPTION
+        )
+    }
+)
+public class SyncMany extends AbstractHightouchConnection implements RunnableTask<SyncMany.Output> {
+    @Schema(
+        title = "Hightouch sync IDs",
+        description = "Numeric IDs of the syncs to trigger, combined with `syncSlugs`; at least one sync must be selected."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<Long>> syncIds;
+
+    @Schema(
+        title = "Glob patterns of the slugs of the syncs to trigger",
+        description = "For example `prod-*`. Resolved through an index of the workspace syncs cached on the worker and in the namespace KV store, refreshed at most once per `syncIndexTtl`."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> syncSlugs;
+
+    @Schema(
+        title = "How long the sync slug index is trusted",
+        description = "Defaults to 1 hour. Past this delay after a slug was last checked against the API, it is looked up again; glob patterns refresh the whole index at most once per this delay. Set it longer than the interval between two executions for slugs to be resolved without any API call, at the cost of noticing renamed or deleted syncs later."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> syncIndexTtl = Property.ofValue(SyncIndex.DEFAULT_TTL);
+
+    @Schema(
+        title = "Maximum number of syncs running at the same time",
+        description = "Defaults to 10. A sync occupies a slot from its trigger until it reaches a terminal status."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> concurrency = Property.ofValue(10);
+
+    @Schema(
+        title = "Failure handling",
+        description = "Defaults to COLLECT_ALL: every sync is awaited and the outputs of all of them are returned, the task state being FAILED if any sync failed. FAIL_FAST throws on the first failure, so no output is returned."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<FailureMode> failureMode = Property.ofValue(FailureMode.COLLECT_ALL);
+
+    @Schema(
+        title = "Force full resynchronization",
+        description = "Default false. Sends fullResync=true for every sync."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> fullResynchronization = Property.ofValue(false);
+
+    @Schema(
+        title = "Maximum wait duration per sync",
+        description = "Defaults to 5 minutes, counted from each sync trigger."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> maxDuration = Property.ofValue(Duration.ofMinutes(5));
+
+    @Schema(
+        title = "Run status polling policy",
+        description = "Defaults to a 1 second interval growing by 1.5x up to 30 seconds, reset on each phase change."
+    )
+    @PluginProperty(group = "execution")
+    private PollingPolicy pollingPolicy;
+
+    @Schema(
+        title = "Sync details cache TTL",
+        description = "Defaults to 10 minutes. Sync details (slug, configuration) are cached per worker and revalidated with ETag / If-Modified-Since once older than this; set to 0 to always fetch them."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> syncDetailsCacheTtl = Property.ofValue(Duration.ofMinutes(10));
+
+    @Schema(
+        title = "Fetch sync details concurrently with the trigger",
+        description = "Default false. When true, the sync details lookup no longer delays the trigger request."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> fetchDetailsConcurrently = Property.ofValue(false);
+
+    @Override
+    public SyncMany.Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        Set<Long> selected = new LinkedHashSet<>(runContext.render(this.syncIds).asList(Long.class));
+        List<String> rSyncSlugs = runContext.render(this.syncSlugs).asList(String.class);
+        int rConcurrency = Math.max(1, runContext.render(this.concurrency).as(Integer.class).orElse(10));
+        FailureMode rFailureMode = runContext.render(this.failureMode).as(FailureMode.class).orElse(FailureMode.COLLECT_ALL);
+        boolean rFullResynchronization = runContext.render(this.fullResynchronization).as(Boolean.class).orElse(false);
+        Duration rMaxDuration = runContext.render(this.maxDuration).as(Duration.class).orElseThrow();
+        Duration rCacheTtl = runContext.render(this.syncDetailsCacheTtl).as(Duration.class).orElse(null);
+        boolean rConcurrentDetails = runContext.render(this.fetchDetailsConcurrently).as(Boolean.class).orElse(false);
+
+        List<SyncResult> results = new ArrayList<>();
+        // timelines are filled on the sync threads, and turned into metrics on the task thread
+        Map<Long, RunTimeline> timelines = new ConcurrentHashMap<>();
+
+        try (
+            HightouchClient client = this.client(runContext);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            SyncRunner runner = new SyncRunner(client, logger);
+
+            if (!rSyncSlugs.isEmpty()) {
+                selected.addAll(SyncIndex.of(client.key()).match(
+                    runContext,
+                    runner,
+                    rSyncSlugs,
+                    runContext.render(this.syncIndexTtl).as(Duration.class).orElse(SyncIndex.DEFAULT_TTL)
+                ));
+            }
+
+            if (selected.isEmpty()) {
+                throw new IllegalArgumentException("No Hightouch sync matches syncIds or syncSlugs");
+            }
+
+            List<Long> rSyncIds = List.copyOf(selected);
+            Semaphore slots = new Semaphore(rConcurrency);
+            CompletionService<SyncResult> completion = new ExecutorCompletionService<>(executor);
+
+            for (Long syncId : rSyncIds) {
+                PollingSchedule schedule = PollingSchedule.of(runContext, this.pollingPolicy);
+                completion.submit(() -> {
+                    slots.acquire();
+                    try {
+                        return this.runOne(runner, timelines, String.valueOf(syncId), rFullResynchronization, rCacheTtl, rConcurrentDetails, schedule, rMaxDuration);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+
+            for (int i = 0; i < rSyncIds.size(); i++) {
+                SyncResult result = completion.take().get();
+                results.add(result);
+
+                if (result.getError() != null && rFailureMode == FailureMode.FAIL_FAST) {
+                    executor.shutdownNow();
+                    throw new RuntimeException("Sync " + result.getSyncId() + " failed: " + result.getError());
+                }
+            }
+
+            results.sort(Comparator.comparing(r -> rSyncIds.indexOf(r.getSyncId())));
+        }
+
+        long failed = results.stream().filter(r -> r.getError() != null).count();
+        runContext.metric(Counter.of("syncs.succeeded", results.size() - failed));
+        runContext.metric(Counter.of("syncs.failed", failed));
+
+        results.stream()
+            .filter(r -> r.getMetadata() != null)
+            .forEach(r -> timelines.get(r.getSyncId()).metrics(runContext, r.getMetadata(), "syncId", String.valueOf(r.getSyncId())));
+
+        results.stream()
+            .filter(r -> r.getError() == null)
+            .forEach(r -> SyncRunner.metrics(runContext, r.getMetadata(), "syncId", String.valueOf(r.getSyncId())));
+
+        if (failed > 0) {
+            results.stream()
+                .filter(r -> r.getError() != null)
+                .forEach(r -> logger.error("[syncId={}] failed: {}", r.getSyncId(), r.getError()));
+
+            logger.error("{} of {} syncs failed", failed, results.size());
+        }
+
+        return Output.builder()
+            .runs(results)
+            .build();
+    }
+
+    private SyncResult runOne(SyncRunner runner, Map<Long, RunTimeline> timelines, String syncId, boolean fullResynchronization, Duration cacheTtl, boolean concurrentDetails, PollingSchedule schedule, Duration maxDuration) {
+        SyncResult.SyncResultBuilder result = SyncResult.builder().syncId(Long.valueOf(syncId));
+        RunTimeline timeline = timelines.computeIfAbsent(Long.valueOf(syncId), id -> new RunTimeline());
+
+        try {
+            CompletableFuture<SyncDetailsResponse> details = runner.details(syncId, cacheTtl, concurrentDetails);
+            Long runId = runner.trigger(syncId, fullResynchronization);
+            result.runId(runId);
+
+            SyncDetailsResponse syncDetails = runner.triggered(details, runId);
+
+            RunDetails finalJobStatus = runner.await(syncId, runId, syncDetails, schedule, maxDuration, timeline);
+            result.status(finalJobStatus.getStatus()).metadata(finalJobStatus).timeline(timeline.transitions());
+
+            runner.check(finalJobStatus);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.error("Interrupted");
+        } catch (Exception e) {
+            result.error(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        }
+
+        return result.build();
+    }
+
+    public enum FailureMode {
+        FAIL_FAST,
+        COLLECT_ALL
+    }
+
+    @Builder
+    @Getter
+    public static class SyncResult {
+        @Schema(title = "Hightouch sync ID")
+        private final Long syncId;
+
+        @Schema(title = "Hightouch run ID", description = "Null if the sync could not be triggered.")
+        private final Long runId;
+
+        @Schema(title = "Final run status")
+        private final RunStatus status;
+
+        @Schema(title = "Failure reason", description = "Null when the run ended successfully.")
+        private final String error;
+
+        @Schema(title = "Sync run metadata")
+        private final RunDetails metadata;
+
+        @Schema(
+            title = "Run status transitions",
+            description = "Each status the run went through, with the time it was first observed while polling."
+        )
+        private final List<StatusTransition> timeline;
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Result of each sync",
+            description = "In the order of syncIds."
+        )
+        private final List<SyncResult> runs;
+
+        @JsonIgnore
+        @Override
+        public Optional<State.Type> finalState() {
+            return runs.stream().anyMatch(r -> r.getError() != null) ? Optional.of(State.Type.FAILED) : io.kestra.core.models.tasks.Output.super.finalState();
+        }
+    }
+}
@@ -0,0 +1,629 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.slf4j.Logger;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.HttpResponse;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.*;
+
+import static io.kestra.core.utils.Rethrow.throwSupplier;
+
+/**
+ * Trigger and polling logic for a single sync run, shared by every task that starts or awaits Hightouch runs.
+ */
+class SyncRunner {
+    static final List<RunStatus> ENDED_STATUS = List.of(
+        RunStatus.FAILED,
+        RunStatus.CANCELLED,
+        RunStatus.SUCCESS,
+        RunStatus.COMPLETED_WITH_ERRORS,
+        RunStatus.WARNING,
+        RunStatus.INTERRUPTED
+    );
+
+    static final List<RunStatus> SUCCESS_STATUS = List.of(
+        RunStatus.SUCCESS,
+        RunStatus.COMPLETED_WITH_ERRORS,
+        RunStatus.WARNING
+    );
+
+    /**
+     * Reports are read from the KV store, not the API, so they can be checked far more often than the run is polled.
+     */
+    /*
+     * Names and descriptions of the run counters, referenced by the @Metric annotations of every task awaiting runs.
+     */
+    static final String COMPLETION_RATIO = "completion.ratio";
+    static final String COMPLETION_RATIO_DESCRIPTION = "The completion ratio of the Hightouch sync.";
+
+    static final String ROWS_SUCCESSFULLY_ADDED = "rows.successfully.added";
+    static final String ROWS_SUCCESSFULLY_ADDED_DESCRIPTION = "Number of rows successfully added.";
+
+    static final String ROWS_SUCCESSFULLY_REMOVED = "rows.successfully.removed";
+    static final String ROWS_SUCCESSFULLY_REMOVED_DESCRIPTION = "Number of rows successfully removed.";
+
+    static final String ROWS_SUCCESSFULLY_CHANGED = "rows.successfully.changed";
+    static final String ROWS_SUCCESSFULLY_CHANGED_DESCRIPTION = "Number of rows successfully changed.";
+
+    static final String ROWS_FAILED_ADDED = "rows.failed.added";
+    static final String ROWS_FAILED_ADDED_DESCRIPTION = "Number of rows failed to add.";
+
+    static final String ROWS_FAILED_REMOVED = "rows.failed.removed";
+    static final String ROWS_FAILED_REMOVED_DESCRIPTION = "Number of rows failed to remove.";
+
+    static final String ROWS_FAILED_CHANGED = "rows.failed.changed";
+    static final String ROWS_FAILED_CHANGED_DESCRIPTION = "Number of rows failed to change.";
+
+    /**
+     * Appended to the description of the run metrics of the tasks awaiting several syncs.
+     */
+    static final String PER_SYNC_DESCRIPTION = " Tagged by syncId.";
+
+    static final Duration REPORT_CHECK_INTERVAL = Duration.ofSeconds(1);
+    static final Duration CANCEL_CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    private final HightouchClient client;
+    private final Logger logger;
+    private final Map<Long, RunLookup> runLookups = new ConcurrentHashMap<>();
+
+    SyncRunner(HightouchClient client, Logger logger) {
+        this.client = client;
+        this.logger = logger;
+    }
+
+    SyncDetailsResponse details(String syncId) throws Exception {
+        HttpResponse<SyncDetailsResponse> syncDetails = client.request(
+            "GET",
+            String.format("/api/v1/syncs/%s", syncId),
+            "{}",
+            SyncDetailsResponse.class
+        );
+
+        return syncDetails.getBody();
+    }
+
+    /**
+     * Sync details served from the worker-wide {@link SyncDetailsCache}, revalidated once older than ttl.
+     *
+     * @param ttl null or zero to always fetch the details.
+     */
+    SyncDetailsResponse details(String syncId, Duration ttl) throws Exception {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return this.details(syncId);
+        }
+
+        String key = client.key() + "/" + syncId;
+        Instant now = Instant.now();
+
+        SyncDetailsCache.Entry cached = SyncDetailsCache.SHARED.get(key);
+        if (cached != null && cached.isFresh(ttl, now)) {
+            return cached.details();
+        }
+
+        HttpResponse<SyncDetailsResponse> response = client.request(
+            "GET",
+            String.format("/api/v1/syncs/%s", syncId),
+            "{}",
+            SyncDetailsResponse.class,
+            cached != null ? cached.conditionalHeaders() : Map.of()
+        );
+
+        if (cached != null && response.getStatus().getCode() == 304) {
+            SyncDetailsCache.SHARED.put(key, cached.revalidated(now));
+            return cached.details();
+        }
+
+        SyncDetailsCache.SHARED.put(key, new SyncDetailsCache.Entry(
+            response.getBody(),
+            response.getHeaders().firstValue("ETag").orElse(null),
+            response.getHeaders().firstValue("Last-Modified").orElse(null),
+            now
+        ));
+
+        return response.getBody();
+    }
+
+    /**
+     * Fetch the sync details, either right away or on a virtual thread so that it overlaps with the trigger.
+     */
+    CompletableFuture<SyncDetailsResponse> details(String syncId, Duration ttl, boolean concurrently) throws Exception {
+        if (!concurrently) {
+            return CompletableFuture.completedFuture(this.details(syncId, ttl));
+        }
+
+        return CompletableFuture.supplyAsync(
+            throwSupplier(() -> this.details(syncId, ttl)),
+            runnable -> Thread.ofVirtual().name("hightouch-sync-details").start(runnable)
+        );
+    }
+
+    Long trigger(String syncId, boolean fullResynchronization) throws Exception {
+        HttpResponse<Run> jobInfoRead = client.request(
+            "POST",
+            String.format("/api/v1/syncs/%s/trigger", syncId),
+            String.format("{\"fullResync\": %s}", fullResynchronization),
+            Run.class
+        );
+
+        return jobInfoRead.getBody().getId();
+    }
+
+    /**
+     * Ask Hightouch to cancel a run, then look it up every {@link #CANCEL_CHECK_INTERVAL} until it reaches a terminal
+     * status or the grace period is over.
+     *
+     * @return true if the run ended within the grace period, whatever its final status.
+     */
+    boolean cancel(String syncId, Long runId, Duration gracePeriod) throws Exception {
+        client.stream(
+            "POST",
+            String.format("/api/v1/syncs/%s/cancel", syncId),
+            String.format("{\"runId\": %s}", runId),
+            inputStream -> null
+        );
+
+        logger.info("[Hightouch] syncId={} runId={} cancellation requested", syncId, runId);
+
+        Instant deadline = Instant.now().plus(gracePeriod);
+        while (true) {
+            RunDetails runDetails = null;
+            try {
+                runDetails = this.fetchRun(syncId, runId);
+            } catch (Exception e) {
+                if (!RunStatusPoller.isTransient(e)) {
+                    throw e;
+                }
+
+                this.pollFailed(syncId, e, CANCEL_CHECK_INTERVAL);
+            }
+
+            if (runDetails != null && ENDED_STATUS.contains(runDetails.getStatus())) {
+                logger.info("[Hightouch] syncId={} runId={} ended with status '{}' after cancellation", syncId, runId, runDetails.getStatus());
+                return true;
+            }
+
+            Instant now = Instant.now();
+            if (!now.isBefore(deadline)) {
+                logger.warn("[Hightouch] syncId={} runId={} still not ended {} after cancellation", syncId, runId, gracePeriod);
+                return false;
+            }
+
+            TimeUnit.MILLISECONDS.sleep(Math.min(CANCEL_CHECK_INTERVAL.toMillis(), Duration.between(now, deadline).toMillis()));
+        }
+    }
+
+    /**
+     * Wait for the sync details fetched by {@link #details(String, Duration, boolean)} and log the triggered run.
+     */
+    SyncDetailsResponse triggered(CompletableFuture<SyncDetailsResponse> details, Long runId) throws Exception {
+        SyncDetailsResponse syncDetails = resolve(details);
+
+        logger.info("[syncId={}] {}: Job triggered with runId {}", syncDetails.getId(), syncDetails.getSlug(), runId);
+
+        return syncDetails;
+    }
+
+    /**
+     * Same as {@link #triggered(CompletableFuture, Long)} for a run that was not triggered by the caller.
+     *
+     * @param origin where the run comes from, for the log.
+     */
+    SyncDetailsResponse attached(CompletableFuture<SyncDetailsResponse> details, Long runId, String origin) throws Exception {
+        SyncDetailsResponse syncDetails = resolve(details);
+
+        logger.info("[syncId={}] {}: Attached to runId {} {}", syncDetails.getId(), syncDetails.getSlug(), runId, origin);
+
+        return syncDetails;
+    }
+
+    static SyncDetailsResponse resolve(CompletableFuture<SyncDetailsResponse> details) throws Exception {
+        try {
+            return details.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Wait on the shared {@link RunStatusPoller} until the run reaches one of the {@link #ENDED_STATUS}.
+     *
+     * @param timeline records every status observed while waiting.
+     * @throws TimeoutException if the run is still going after maxDuration.
+     */
+    RunDetails await(String syncId, Long runId, SyncDetailsResponse syncDetails, PollingSchedule schedule, Duration maxDuration, RunTimeline timeline) throws Exception {
+        return this.await(syncId, runId, syncDetails, schedule, maxDuration, timeline, null);
+    }
+
+    /**
+     * Same as {@link #await(String, Long, SyncDetailsResponse, PollingSchedule, Duration, RunTimeline)}, publishing
+     * live progress metrics while waiting.
+     *
+     * @param progress null to not publish progress before the end of the run.
+     */
+    RunDetails await(String syncId, Long runId, SyncDetailsResponse syncDetails, PollingSchedule schedule, Duration maxDuration, RunTimeline timeline, RunProgress progress) throws Exception {
+        try (RunStatusPoller.Registration registration = RunStatusPoller.SHARED.watch(
+            client.key(),
+            syncId,
+            runId,
+            schedule,
+            this,
+            runDetails -> {
+                timeline.observe(runDetails, Instant.now());
+
+                if (progress != null) {
+                    progress.observe(runDetails, Instant.now());
+                }
+
+                logger.info(
+                    "[Hightouch] syncId={} runId={} current status='{}'",
+                    syncId, runId, runDetails.getStatus()
+                );
+
+                sendLog(syncDetails, runDetails);
+            }
+        )) {
+            try {
+                return registration.future().get(maxDuration.toMillis(), TimeUnit.MILLISECONDS);
+            } finally {
+                client.metrics().polled(registration.polls());
+                client.metrics().retried(registration.retries());
+            }
+        } catch (TimeoutException e) {
+            throw new TimeoutException("Await failed to terminate within " + maxDuration);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for the run status pushed by a webhook through {@link ReportRun}, only looking the run up on the API every
+     * fallbackInterval in case the webhook never comes.
+     * <p>
+     * A reported terminal status is only a hint, since anyone able to run {@link ReportRun} in the namespace can
+     * report one: it is confirmed with a single lookup of the run, whose details are returned. If the API does not
+     * confirm the run ended, the reports are ignored and the run is polled following schedule.
+     *
+     * @param timeline records every status observed while waiting.
+     * @param progress null to not publish progress before the end of the run.
+     * @throws TimeoutException if the run is still going after maxDuration.
+     */
+    RunDetails awaitReported(RunContext runContext, String syncId, Long runId, SyncDetailsResponse syncDetails, Duration fallbackInterval, PollingSchedule schedule, Duration maxDuration, RunTimeline timeline, RunProgress progress) throws Exception {
+        Instant deadline = Instant.now().plus(maxDuration);
+        Instant nextPoll = Instant.now().plus(fallbackInterval);
+        RunStatus last = null;
+        int polls = 0;
+        int retries = 0;
+
+        try {
+            while (true) {
+                Instant now = Instant.now();
+                RunDetails runDetails = RunReport.get(runContext, syncId, runId).orElse(null);
+
+                if (runDetails != null && ENDED_STATUS.contains(runDetails.getStatus())) {
+                    polls++;
+                    RunDetails reported = runDetails;
+
+                    try {
+                        runDetails = this.fetchRun(syncId, runId);
+                    } catch (Exception e) {
+                        if (!RunStatusPoller.isTransient(e)) {
+                            throw e;
+                        }
+
+                        retries++;
+                        runDetails = null;
+                    }
+
+                    if (runDetails == null || !ENDED_STATUS.contains(runDetails.getStatus())) {
+                        logger.warn(
+                            "[Hightouch] syncId={} runId={} was reported '{}' but the API did not confirm it ended, polling the API instead",
+                            syncId, runId, reported.getStatus()
+                        );
+                        RunReport.delete(runContext, syncId, runId);
+
+                        return this.awaitPolling(syncId, runId, syncDetails, schedule, deadline, maxDuration, timeline, progress);
+                    }
+                } else if (!now.isBefore(nextPoll)) {
+                    // a webhook may only report the start of the run, or get lost
+                    polls++;
+                    nextPoll = now.plus(fallbackInterval);
+
+                    try {
+                        runDetails = this.fetchRun(syncId, runId);
+                    } catch (Exception e) {
+                        if (!RunStatusPoller.isTransient(e)) {
+                            throw e;
+                        }
+
+                        retries++;
+                        this.pollFailed(syncId, e, fallbackInterval);
+                    }
+                }
+
+                if (runDetails != null && runDetails.getStatus() != last) {
+                    last = runDetails.getStatus();
+                    timeline.observe(runDetails, now);
+
+                    logger.info(
+                        "[Hightouch] syncId={} runId={} current status='{}'",
+                        syncId, runId, runDetails.getStatus()
+                    );
+
+                    sendLog(syncDetails, runDetails);
+                }
+
+                if (runDetails != null && progress != null) {
+                    progress.observe(runDetails, now);
+                }
+
+                if (runDetails != null && ENDED_STATUS.contains(runDetails.getStatus())) {
+                    RunReport.delete(runContext, syncId, runId);
+
+                    return runDetails;
+                }
+
+                if (!now.isBefore(deadline)) {
+                    throw new TimeoutException("Await failed to terminate within " + maxDuration);
+                }
+
+                Duration sleep = Duration.between(now, deadline);
+                TimeUnit.MILLISECONDS.sleep(Math.min(REPORT_CHECK_INTERVAL.toMillis(), sleep.toMillis()));
+            }
+        } finally {
+            client.metrics().polled(polls);
+            client.metrics().retried(retries);
+        }
+    }
+
+    /**
+     * Poll the run until the deadline of {@link #awaitReported}, reporting a timeout against its maxDuration.
+     */
+    private RunDetails awaitPolling(String syncId, Long runId, SyncDetailsResponse syncDetails, PollingSchedule schedule, Instant deadline, Duration maxDuration, RunTimeline timeline, RunProgress progress) throws Exception {
+        Duration remaining = Duration.between(Instant.now(), deadline);
+
+        try {
+            return this.await(syncId, runId, syncDetails, schedule, remaining.isNegative() ? Duration.ZERO : remaining, timeline, progress);
+        } catch (TimeoutException e) {
+            throw new TimeoutException("Await failed to terminate within " + maxDuration);
+        }
+    }
+
+    /**
+     * @return the latest run of the sync that has not reached a terminal status yet, null if there is none.
+     */
+    Long activeRun(String syncId) throws Exception {
+        Long[] active = new Long[1];
+
+        this.listRuns(syncId, "", 10, 0, run -> {
+            if (run.getStatus() != null && !ENDED_STATUS.contains(run.getStatus())) {
+                active[0] = run.getId();
+                return false;
+            }
+
+            return true;
+        });
+
+        return active[0];
+    }
+
+    /**
+     * Stream one page of the sync runs.
+     *
+     * @param query extra query string parameters, may be empty.
+     * @param consumer called for each run; return false to stop reading.
+     * @return whether another page is available, null if reading stopped early.
+     */
+    Boolean listRuns(String syncId, String query, int limit, int offset, Predicate<RunDetails> consumer) throws Exception {
+        return client.stream(
+            "GET",
+            String.format("/api/v1/syncs/%s/runs?limit=%d&offset=%d%s", syncId, limit, offset, query.isEmpty() ? "" : "&" + query),
+            "{}",
+            inputStream -> PageReader.read(inputStream, consumer)
+        );
+    }
+
+    /**
+     * Stream all the sync runs page by page, following {@code hasMore}, until the consumer returns false.
+     */
+    void paginateRuns(String syncId, String query, int pageSize, Predicate<RunDetails> consumer) throws Exception {
+        paginate((offset, pageConsumer) -> this.listRuns(syncId, query, pageSize, offset, pageConsumer), consumer);
+    }
+
+    /**
+     * Stream one page of the workspace syncs.
+     *
+     * @param query extra query string parameters, may be empty.
+     * @param consumer called for each sync; return false to stop reading.
+     * @return whether another page is available, null if reading stopped early.
+     */
+    Boolean listSyncs(String query, int limit, int offset, Predicate<SyncDetailsResponse> consumer) throws Exception {
+        return client.stream(
+            "GET",
+            String.format("/api/v1/syncs?limit=%d&offset=%d%s", limit, offset, query.isEmpty() ? "" : "&" + query),
+            "{}",
+            inputStream -> PageReader.read(inputStream, SyncDetailsResponse.class, consumer)
+        );
+    }
+
+    /**
+     * Stream all the workspace syncs page by page, following {@code hasMore}, until the consumer returns false.
+     */
+    void paginateSyncs(String query, int pageSize, Predicate<SyncDetailsResponse> consumer) throws Exception {
+        paginate((offset, pageConsumer) -> this.listSyncs(query, pageSize, offset, pageConsumer), consumer);
+    }
+
+    private static <T> void paginate(Page<T> page, Predicate<T> consumer) throws Exception {
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        AtomicInteger read = new AtomicInteger();
+        int offset = 0;
+
+        while (true) {
+            read.set(0);
+            Boolean hasMore = page.fetch(offset, item -> {
+                read.incrementAndGet();
+                if (!consumer.test(item)) {
+                    stopped.set(true);
+                    return false;
+                }
+
+                return true;
+            });
+
+            if (stopped.get() || !Boolean.TRUE.equals(hasMore) || read.get() == 0) {
+                return;
+            }
+
+            offset += read.get();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Page<T> {
+        Boolean fetch(int offset, Predicate<T> consumer) throws Exception;
+    }
+
+    /**
+     * Look up a single run. The request and its decoder are built on the first lookup of the run and reused by the
+     * following polls.
+     */
+    RunDetails fetchRun(String syncId, Long runId) throws Exception {
+        RunLookup lookup = this.lookup(syncId, runId);
+
+        return this.visible(syncId, runId, client.stream(lookup.request(), lookup.decoder()));
+    }
+
+    /**
+     * Same as {@link #fetchRun(String, Long)}, hedged with a duplicate lookup when the first one is slow.
+     *
+     * @param hedgeAfter null to never hedge.
+     */
+    RunDetails fetchRun(String syncId, Long runId, Duration hedgeAfter) throws Exception {
+        if (hedgeAfter == null) {
+            return this.fetchRun(syncId, runId);
+        }
+
+        RunLookup lookup = this.lookup(syncId, runId);
+
+        return this.visible(syncId, runId, client.hedged(lookup.request(), lookup.decoder(), hedgeAfter));
+    }
+
+    private RunLookup lookup(String syncId, Long runId) {
+        RunLookup lookup = runLookups.get(runId);
+        if (lookup == null || !lookup.syncId().equals(syncId)) {
+            lookup = new RunLookup(
+                syncId,
+                client.prepare("GET", String.format("/api/v1/syncs/%s/runs?runId=%s", syncId, runId), "{}"),
+                inputStream -> PageReader.find(inputStream, runId)
+            );
+            runLookups.put(runId, lookup);
+        }
+
+        return lookup;
+    }
+
+    private RunDetails visible(String syncId, Long runId, RunDetails runDetails) {
+        if (runDetails == null) {
+            logger.debug(
+                "[Hightouch] runId={} not yet visible in /runs response for syncId={} — retrying",
+                runId, syncId
+            );
+        }
+
+        return runDetails;
+    }
+
+    /**
+     * Log a status lookup that failed transiently and will be tried again by the {@link RunStatusPoller}.
+     */
+    void pollFailed(String syncId, Exception e, Duration retryIn) {
+        logger.warn("[Hightouch] syncId={} status lookup failed, retrying in {}: {}", syncId, retryIn, e.getMessage());
+    }
+
+    /**
+     * Fail on unsuccessful terminal status and warn on partial success, the same way for every task.
+     */
+    void check(RunDetails finalJobStatus) {
+        if (!SUCCESS_STATUS.contains(finalJobStatus.getStatus())) {
+            var createdAt = finalJobStatus.getCreatedAt();
+            var finishedAt = finalJobStatus.getFinishedAt();
+
+            String durationHumanized = finishedAt != null && createdAt != null
+                ? DurationFormatUtils.formatDurationHMS(Duration.between(createdAt, finishedAt).toMillis())
+                : "N/A";
+
+            if (finishedAt == null) {
+                logger.warn("Run {} has null finishedAt - duration set to N/A", finalJobStatus.getId());
+            }
+
+            throw new RuntimeException(
+                "Failed run with status '" + finalJobStatus.getStatus() +
+                    "' after " + durationHumanized + ": " + finalJobStatus.getStatus()
+            );
+        }
+
+        if (
+            finalJobStatus.getStatus() == RunStatus.COMPLETED_WITH_ERRORS
+                || finalJobStatus.getStatus() == RunStatus.WARNING
+        ) {
+            logger.warn(
+                "Run completed with errors (runId={}): {} failed rows", finalJobStatus.getId(),
+                finalJobStatus.getFailedRows()
+            );
+        }
+    }
+
+    static void metrics(RunContext runContext, RunDetails finalJobStatus, String... tags) {
+        counters(finalJobStatus).forEach((name, value) -> runContext.metric(Counter.of(name, value, tags)));
+    }
+
+    /**
+     * @return the value of each progress counter of the run, in the order they are emitted.
+     */
+    static Map<String, Double> counters(RunDetails run) {
+        Map<String, Double> counters = new LinkedHashMap<>();
+        counters.put(COMPLETION_RATIO, value(run.getCompletionRatio()));
+        counters.put(ROWS_SUCCESSFULLY_ADDED, value(run.getSuccessfulRows().getAddedCount()));
+        counters.put(ROWS_SUCCESSFULLY_REMOVED, value(run.getSuccessfulRows().getRemovedCount()));
+        counters.put(ROWS_SUCCESSFULLY_CHANGED, value(run.getSuccessfulRows().getChangedCount()));
+        counters.put(ROWS_FAILED_ADDED, value(run.getFailedRows().getAddedCount()));
+        counters.put(ROWS_FAILED_REMOVED, value(run.getFailedRows().getRemovedCount()));
+        counters.put(ROWS_FAILED_CHANGED, value(run.getFailedRows().getChangedCount()));
+        return counters;
+    }
+
+    private static Double value(Long count) {
+        return count != null ? count.doubleValue() : null;
+    }
+
+    private record RunLookup(String syncId, HttpRequest request, HightouchClient.StreamDecoder<RunDetails> decoder) {
+    }
+
+    private void sendLog(SyncDetailsResponse syncDetails, RunDetails run) {
+        logger.info("[syncId={}] {}: [runId={}] is now {}", syncDetails.getId(), syncDetails.getSlug(), run.getId(), run.getStatus());
+    }
+}
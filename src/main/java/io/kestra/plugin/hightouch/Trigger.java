@@ -0,0 +1,283 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.http.client.configurations.HttpConfiguration;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.PollingTriggerInterface;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.models.triggers.TriggerOutput;
+import io.kestra.core.models.triggers.TriggerService;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Trigger a flow when Hightouch sync runs finish",
+    description = "Polls the latest runs of the watched syncs (by ID and/or slug glob) every `interval`, with one run listing per sync, and starts an execution whenever some runs reached a terminal status since the previous evaluation. All the runs finished since the previous evaluation are delivered in a single execution. A watermark per sync is kept in the namespace KV store, so runs are never delivered twice; on the first evaluation the watermark is initialized without starting an execution."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            title = "Notify when a production sync fails",
+            code = """
+                id: hightouch_failed_runs
+                namespace: company.team
+
+                tasks:
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ trigger.runs }}"
+
+                triggers:
+                  - id: runs
+                    type: io.kestra.plugin.hightouch.Trigger
+                    token: "{{ secret('HIGHTOUCH_API_TOKEN') }}"
+                    syncSlugs:
+                      - "prod-*"
+                    statuses:
+                      - FAILED
+                      - COMPLETED_WITH_ERRORS
+                """
+        )
+    }
+)
+public class Trigger extends AbstractTrigger implements PollingTriggerInterface, TriggerOutput<Trigger.Output>, HightouchConnectionInterface {
+    private Property<String> token;
+
+    protected HttpConfiguration options;
+
+    private Property<Double> rateLimit;
+
+    private Property<Integer> rateLimitBurst;
+
+    @Schema(
+        title = "Hightouch sync IDs to watch",
+        description = "Combined with `syncSlugs`; at least one of them must match a sync."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<Long>> syncIds;
+
+    @Schema(
+        title = "Glob patterns of the sync slugs to watch",
+        description = "For example `prod-*`. Resolved through the index of the workspace syncs shared with the `Sync` and `SyncMany` tasks, refreshed at most once per `syncIndexTtl`."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> syncSlugs;
+
+    @Schema(
+        title = "How long the sync slug index is trusted",
+        description = "Defaults to 1 hour. Past this delay after a slug was last checked against the API, it is looked up again; glob patterns refresh the whole index at most once per this delay. Set it longer than the interval between two executions for slugs to be resolved without any API call, at the cost of noticing renamed or deleted syncs later."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> syncIndexTtl = Property.ofValue(SyncIndex.DEFAULT_TTL);
+
+    @Schema(
+        title = "Terminal statuses that start an execution",
+        description = "Defaults to every terminal status: failed, cancelled, success, completed_with_errors, warning and interrupted."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<RunStatus>> statuses;
+
+    @Schema(
+        title = "Number of latest runs inspected per sync and evaluation",
+        description = "Defaults to 20. Increase it if a sync can finish more runs than this between two evaluations."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageSize = Property.ofValue(20);
+
+    @Schema(title = "Interval between two polls")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private final Duration interval = Duration.ofSeconds(60);
+
+    @Override
+    public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+        Logger logger = runContext.logger();
+
+        List<RunStatus> rStatuses = runContext.render(this.statuses).asList(RunStatus.class);
+        Set<RunStatus> matching = EnumSet.copyOf(rStatuses.isEmpty() ? SyncRunner.ENDED_STATUS : rStatuses);
+        int rPageSize = runContext.render(this.pageSize).as(Integer.class).orElse(20);
+
+        String stateKey = KvState.key("hightouch_trigger", context.getFlowId(), context.getTriggerId());
+        Map<String, Object> state = new HashMap<>(KvState.get(runContext, stateKey).orElse(Map.of()));
+        boolean initialized = !state.isEmpty();
+
+        List<FinishedRun> finished = new ArrayList<>();
+        boolean changed = false;
+
+        try (
+            HightouchClient client = this.client(runContext);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            SyncRunner runner = new SyncRunner(client, logger);
+            Set<Long> watched = this.watched(runContext, client, runner);
+
+            Map<Long, Future<List<RunDetails>>> latest = new LinkedHashMap<>();
+            for (Long syncId : watched) {
+                latest.put(syncId, executor.submit(() -> this.ended(runner, syncId, rPageSize)));
+            }
+
+            for (Map.Entry<Long, Future<List<RunDetails>>> entry : latest.entrySet()) {
+                String syncId = String.valueOf(entry.getKey());
+                Watermark watermark = Watermark.of(state.get(syncId));
+                Watermark next = watermark;
+
+                for (RunDetails run : entry.getValue().get()) {
+                    if (watermark != null && !watermark.isBefore(run)) {
+                        continue;
+                    }
+
+                    if (next == null || next.isBefore(run)) {
+                        next = new Watermark(run.getFinishedAt(), run.getId());
+                    }
+
+                    if (watermark != null && matching.contains(run.getStatus())) {
+                        finished.add(FinishedRun.builder().syncId(entry.getKey()).run(run).build());
+                    }
+                }
+
+                if (next == null && !state.containsKey(syncId)) {
+                    // a sync without any finished run yet starts from now
+                    next = new Watermark(Instant.now(), null);
+                }
+
+                if (next != null && !next.equals(watermark)) {
+                    state.put(syncId, next.toMap());
+                    changed = true;
+                }
+            }
+        }
+
+        if (changed) {
+            KvState.put(runContext, stateKey, state, "Hightouch trigger watermarks", null);
+        }
+
+        if (!initialized) {
+            logger.info("Hightouch trigger initialized with {} watched syncs", state.size());
+            return Optional.empty();
+        }
+
+        if (finished.isEmpty()) {
+            return Optional.empty();
+        }
+
+        finished.sort(Comparator.comparing(r -> r.getRun().getFinishedAt()));
+        logger.info("{} Hightouch runs finished since last evaluation", finished.size());
+
+        Execution execution = TriggerService.generateExecution(this, conditionContext, context, Output.builder().runs(finished).build());
+
+        return Optional.of(execution);
+    }
+
+    private Set<Long> watched(RunContext runContext, HightouchClient client, SyncRunner runner) throws Exception {
+        Set<Long> watched = new LinkedHashSet<>(runContext.render(this.syncIds).asList(Long.class));
+
+        List<String> rSyncSlugs = runContext.render(this.syncSlugs).asList(String.class);
+        if (!rSyncSlugs.isEmpty()) {
+            watched.addAll(SyncIndex.of(client.key()).match(
+                runContext,
+                runner,
+                rSyncSlugs,
+                runContext.render(this.syncIndexTtl).as(Duration.class).orElse(SyncIndex.DEFAULT_TTL)
+            ));
+        }
+
+        if (watched.isEmpty()) {
+            throw new IllegalArgumentException("No Hightouch sync matches syncIds or syncSlugs");
+        }
+
+        return watched;
+    }
+
+    private List<RunDetails> ended(SyncRunner runner, Long syncId, int pageSize) throws Exception {
+        List<RunDetails> ended = new ArrayList<>();
+
+        runner.listRuns(String.valueOf(syncId), "", pageSize, 0, run -> {
+            if (run.getFinishedAt() != null && SyncRunner.ENDED_STATUS.contains(run.getStatus())) {
+                ended.add(run);
+            }
+
+            return true;
+        });
+
+        return ended;
+    }
+
+    /**
+     * Position of the latest delivered run of a sync, ordered by end time then id.
+     */
+    record Watermark(Instant finishedAt, Long runId) {
+        static Watermark of(Object value) {
+            if (!(value instanceof Map<?, ?> map) || map.get("finishedAt") == null) {
+                return null;
+            }
+
+            Object runId = map.get("runId");
+
+            return new Watermark(Instant.parse(map.get("finishedAt").toString()), runId instanceof Number number ? number.longValue() : null);
+        }
+
+        boolean isBefore(RunDetails run) {
+            int compare = finishedAt.compareTo(run.getFinishedAt());
+            if (compare != 0) {
+                return compare < 0;
+            }
+
+            return runId == null || (run.getId() != null && runId < run.getId());
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("finishedAt", finishedAt.toString());
+            map.put("runId", runId);
+            return map;
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class FinishedRun {
+        @Schema(title = "Hightouch sync ID")
+        private final Long syncId;
+
+        @Schema(title = "Sync run metadata")
+        private final RunDetails run;
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Runs finished since the previous evaluation",
+            description = "Ordered by end time."
+        )
+        private final List<FinishedRun> runs;
+    }
+}
@@ -0,0 +1,217 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hightouch.models.SyncDetailsResponse;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Wait for a Hightouch sync run",
+    description = "Awaits a run previously started by `Sync` with `wait: false`, so that long runs can be triggered early and awaited later in the flow. The run status is polled by a worker-wide scheduler shared by every waiting task, following `pollingPolicy`, but the task still holds its worker thread until the run ends, so it does not free a worker slot while waiting. It shares the wait of `Sync`: it fails, warns and reports progress metrics the same way, applies `onTimeout`, and cancels the run when the execution is killed."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            title = "Trigger a full resync, do some other work, then wait for it",
+            code = """
+                id: hightouch_full_resync
+                namespace: company.team
+
+                tasks:
+                  - id: trigger
+                    type: io.kestra.plugin.hightouch.Sync
+                    token: "{{ secret('HIGHTOUCH_API_TOKEN') }}"
+                    syncId: 1127166
+                    fullResynchronization: true
+                    wait: false
+
+                  - id: other_work
+                    type: io.kestra.plugin.core.log.Log
+                    message: "Run {{ outputs.trigger.runId }} started"
+
+                  - id: wait
+                    type: io.kestra.plugin.hightouch.WaitForRun
+                    token: "{{ secret('HIGHTOUCH_API_TOKEN') }}"
+                    syncId: 1127166
+                    runId: "{{ outputs.trigger.runId }}"
+                    maxDuration: PT2H
+                """
+        )
+    },
+    metrics = {
+        @Metric(
+            name = SyncRunner.COMPLETION_RATIO,
+            type = Counter.TYPE,
+            description = SyncRunner.COMPLETION_RATIO_DESCRIPTION + RunProgress.PROGRESS_DESCRIPTION
+        ),
+        @Metric(
+            name = RunProgress.RUN_STATUS,
+            type = Counter.TYPE,
+            description = RunProgress.RUN_STATUS_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_ADDED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_ADDED_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_REMOVED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_REMOVED_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_SUCCESSFULLY_CHANGED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_SUCCESSFULLY_CHANGED_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_ADDED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_ADDED_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_REMOVED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_REMOVED_DESCRIPTION
+        ),
+        @Metric(
+            name = SyncRunner.ROWS_FAILED_CHANGED,
+            type = Counter.TYPE,
+            description = SyncRunner.ROWS_FAILED_CHANGED_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITER_WAIT,
+            type = Timer.TYPE,
+            description = HttpMetrics.RATE_LIMITER_WAIT_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RATE_LIMITED_RETRIES,
+            type = Counter.TYPE,
+            description = HttpMetrics.RATE_LIMITED_RETRIES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUEST_DURATION,
+            type = Timer.TYPE,
+            description = HttpMetrics.REQUEST_DURATION_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.REQUESTS,
+            type = Counter.TYPE,
+            description = HttpMetrics.REQUESTS_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSE_SIZE,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSE_SIZE_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSE_WIRE_SIZE,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSE_WIRE_SIZE_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.RESPONSES,
+            type = Counter.TYPE,
+            description = HttpMetrics.RESPONSES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.POLLS,
+            type = Counter.TYPE,
+            description = HttpMetrics.POLLS_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.POLL_RETRIES,
+            type = Counter.TYPE,
+            description = HttpMetrics.POLL_RETRIES_DESCRIPTION
+        ),
+        @Metric(
+            name = HttpMetrics.HEDGED_REQUESTS,
+            type = Counter.TYPE,
+            description = HttpMetrics.HEDGED_REQUESTS_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_QUEUED,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_QUEUED_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_QUERYING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_QUERYING_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_PROCESSING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_PROCESSING_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.PHASE_REPORTING,
+            type = Timer.TYPE,
+            description = RunTimeline.PHASE_REPORTING_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.ROWS_PER_SECOND,
+            type = Counter.TYPE,
+            description = RunTimeline.ROWS_PER_SECOND_DESCRIPTION
+        ),
+        @Metric(
+            name = RunTimeline.ROWS_PLANNED_RATIO,
+            type = Counter.TYPE,
+            description = RunTimeline.ROWS_PLANNED_RATIO_DESCRIPTION
+        )
+    }
+)
+public class WaitForRun extends AbstractRunWait {
+    @Schema(
+        title = "Hightouch sync ID",
+        description = "Required numeric ID of the sync the run belongs to."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<Long> syncId;
+
+    @Schema(
+        title = "Hightouch run ID",
+        description = "Required, usually the `runId` output of a `Sync` task with `wait: false`."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<Long> runId;
+
+    @Override
+    public Sync.Output run(RunContext runContext) throws Exception {
+        final String rSyncId = runContext.render(this.syncId).as(Long.class).orElseThrow().toString();
+        final Long rRunId = runContext.render(this.runId).as(Long.class).orElseThrow();
+
+        try (HightouchClient client = this.client(runContext)) {
+            SyncRunner runner = new SyncRunner(client, runContext.logger());
+
+            SyncDetailsResponse syncDetails = runner.details(
+                rSyncId,
+                runContext.render(this.syncDetailsCacheTtl).as(Duration.class).orElse(null)
+            );
+
+            runContext.logger().info("[syncId={}] {}: Waiting for runId {}", syncDetails.getId(), syncDetails.getSlug(), rRunId);
+
+            return this.await(runContext, runner, rSyncId, rRunId, syncDetails, true, () -> {});
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package io.kestra.plugin.hightouch.models;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 
+@JsonDeserialize(using = RunStatus.Deserializer.class)
 public enum RunStatus {
     PROCESSING("processing"),
     QUEUED("queued"),
@@ -31,40 +36,99 @@ public enum RunStatus {
         return String.valueOf(value);
     }
 
-    @JsonCreator
+    /**
+     * Map a status or one of its aliases, ignoring case, surrounding blanks, and using '-', ' ' or '_' as separator.
+     *
+     * @return the status, null if unknown.
+     */
     public static RunStatus fromValue(String text) {
         if (text == null)
             return null;
 
-        String n = normalize(text);
+        return match(text, null, 0, text.length());
+    }
+
+    /**
+     * Same as {@link #fromValue(String)} on a slice of a character buffer, without creating a string.
+     */
+    static RunStatus fromChars(char[] chars, int offset, int length) {
+        return match(null, chars, offset, length);
+    }
 
-        RunStatus match = ALIASES.get(n);
-        if (match != null) {
-            return match;
+    /**
+     * Single matcher behind {@link #fromValue(String)} and {@link #fromChars(char[], int, int)}, reading either the
+     * string or the buffer slice. Wrapping the buffer in a {@code CharSequence} would allocate on every decoded run.
+     */
+    private static RunStatus match(String string, char[] chars, int offset, int length) {
+        int start = 0;
+        int end = length;
+        while (start < end && charAt(string, chars, offset + start) <= ' ') {
+            start++;
+        }
+        while (end > start && charAt(string, chars, offset + end - 1) <= ' ') {
+            end--;
         }
 
-        for (RunStatus b : RunStatus.values()) {
-            if (normalize(b.value).equals(n)) {
-                return b;
+        for (int i = 0; i < KEYS.length; i++) {
+            char[] key = KEYS[i];
+            if (key.length != end - start) {
+                continue;
+            }
+
+            int j = 0;
+            while (j < key.length && normalize(charAt(string, chars, offset + start + j)) == key[j]) {
+                j++;
+            }
+
+            if (j == key.length) {
+                return VALUES[i];
             }
         }
 
         return null;
     }
 
+    private static char charAt(String string, char[] chars, int index) {
+        return chars != null ? chars[index] : string.charAt(index);
+    }
+
+    private static char normalize(char c) {
+        if (c == '-' || c == ' ') {
+            return '_';
+        }
+
+        return Character.toLowerCase(c);
+    }
+
     private static String normalize(String s) {
-        if (s == null)
-            return "";
-        return s.trim()
-            .toLowerCase()
-            .replace('-', '_')
-            .replace(' ', '_');
+        StringBuilder normalized = new StringBuilder(s.length());
+        for (char c : s.trim().toCharArray()) {
+            normalized.append(normalize(c));
+        }
+
+        return normalized.toString();
     }
 
-    private static final Map<String, RunStatus> ALIASES = Collections.unmodifiableMap(buildAliases());
+    private static final char[][] KEYS;
+    private static final RunStatus[] VALUES;
+
+    static {
+        Map<String, RunStatus> aliases = buildAliases();
+
+        KEYS = new char[aliases.size()][];
+        VALUES = new RunStatus[aliases.size()];
+
+        int i = 0;
+        for (Map.Entry<String, RunStatus> alias : aliases.entrySet()) {
+            KEYS[i] = alias.getKey().toCharArray();
+            VALUES[i] = alias.getValue();
+            i++;
+        }
+    }
 
     private static Map<String, RunStatus> buildAliases() {
-        Map<String, RunStatus> m = new HashMap<>();
+        // canonical values first, they are by far the most frequent
+        Map<String, RunStatus> m = new LinkedHashMap<>();
 
         put(m, "processing", PROCESSING);
         put(m, "queued", QUEUED);
@@ -97,4 +161,22 @@ public enum RunStatus {
     private static void put(Map<String, RunStatus> m, String key, RunStatus v) {
         m.put(normalize(key), v);
     }
+
+    /**
+     * Decodes the status straight from the parser buffer, so that polling does not create a string per observed run.
+     */
+    public static class Deserializer extends StdDeserializer<RunStatus> {
+        public Deserializer() {
+            super(RunStatus.class);
+        }
+
+        @Override
+        public RunStatus deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                return fromChars(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            }
+
+            return (RunStatus) context.handleUnexpectedToken(RunStatus.class, parser);
+        }
+    }
 }
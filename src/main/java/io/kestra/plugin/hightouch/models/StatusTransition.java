@@ -0,0 +1,18 @@
+package io.kestra.plugin.hightouch.models;
+
+import java.time.Instant;
+
+import lombok.Value;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * A run status as first observed while polling.
+ */
+@Value
+@Jacksonized
+@SuperBuilder
+public class StatusTransition {
+    RunStatus status;
+    Instant observedAt;
+}
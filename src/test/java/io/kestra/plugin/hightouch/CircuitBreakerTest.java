@@ -0,0 +1,74 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class CircuitBreakerTest {
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker();
+        long now = System.nanoTime();
+
+        for (int i = 0; i < CircuitBreaker.FAILURE_THRESHOLD - 1; i++) {
+            breaker.failure(now);
+        }
+        assertThat(breaker.check(now), is(Duration.ZERO));
+
+        breaker.failure(now);
+        assertThat(breaker.isOpen(), is(true));
+        assertThat(breaker.check(now), is(CircuitBreaker.MIN_OPEN));
+    }
+
+    @Test
+    void shouldLetASingleTrialThroughOnceOpenDelayIsOver() {
+        CircuitBreaker breaker = open();
+        long later = System.nanoTime() + CircuitBreaker.MIN_OPEN.toNanos() + 1;
+
+        assertThat(breaker.check(later), is(Duration.ZERO));
+        assertThat(breaker.check(later), is(CircuitBreaker.TRIAL_WAIT));
+
+        breaker.success();
+        assertThat(breaker.isOpen(), is(false));
+        assertThat(breaker.check(later), is(Duration.ZERO));
+    }
+
+    @Test
+    void shouldDoubleOpenDelayWhenTrialFails() {
+        CircuitBreaker breaker = open();
+        long later = System.nanoTime() + CircuitBreaker.MIN_OPEN.toNanos() + 1;
+
+        assertThat(breaker.check(later), is(Duration.ZERO));
+        breaker.failure(later);
+
+        assertThat(breaker.check(later), is(CircuitBreaker.MIN_OPEN.multipliedBy(2)));
+    }
+
+    @Test
+    void shouldResetFailuresOnSuccess() {
+        CircuitBreaker breaker = new CircuitBreaker();
+        long now = System.nanoTime();
+
+        for (int i = 0; i < CircuitBreaker.FAILURE_THRESHOLD - 1; i++) {
+            breaker.failure(now);
+        }
+        breaker.success();
+        breaker.failure(now);
+
+        assertThat(breaker.isOpen(), is(false));
+    }
+
+    private static CircuitBreaker open() {
+        CircuitBreaker breaker = new CircuitBreaker();
+        long now = System.nanoTime();
+
+        for (int i = 0; i < CircuitBreaker.FAILURE_THRESHOLD; i++) {
+            breaker.failure(now);
+        }
+
+        return breaker;
+    }
+}
@@ -0,0 +1,311 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * In-process simulator of the Hightouch sync and run endpoints, for tests that need realistic run lifecycles or load.
+ * <p>
+ * Runs go through queued, querying, processing and reporting for the durations of the {@link Profile}, then end with
+ * its final status; their status is derived from the time elapsed since the trigger, so the simulator has no clock of
+ * its own. Latency, 429 and 5xx answers can be injected on every request.
+ */
+class HightouchSimulator implements AutoCloseable {
+    private static final Pattern SYNC = Pattern.compile("^/api/v1/syncs/(\\d+)$");
+    private static final Pattern TRIGGER = Pattern.compile("^/api/v1/syncs/(\\d+)/trigger$");
+    private static final Pattern RUNS = Pattern.compile("^/api/v1/syncs/(\\d+)/runs$");
+
+    private final HttpServer server;
+    private final Profile profile;
+    private final AtomicLong runIds = new AtomicLong(1000);
+    private final ConcurrentMap<Long, List<SimulatedRun>> runs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> requests = new ConcurrentHashMap<>();
+
+    HightouchSimulator(Profile profile) throws IOException {
+        this.profile = profile;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/api/v1/syncs", this::handle);
+        this.server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @param endpoint one of sync.details, syncs.list, trigger, run.status, runs.list, or null for all of them.
+     * @return the number of requests received, including the injected failures.
+     */
+    long requests(String endpoint) {
+        if (endpoint == null) {
+            return requests.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        LongAdder count = requests.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Add a run that was triggered outside of the simulator, created at the given time.
+     */
+    long addRun(long syncId, Instant createdAt, RunStatus finalStatus) {
+        SimulatedRun run = new SimulatedRun(runIds.incrementAndGet(), createdAt, finalStatus);
+        runs.computeIfAbsent(syncId, id -> Collections.synchronizedList(new ArrayList<>())).add(run);
+        return run.id;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            Matcher matcher;
+
+            String endpoint;
+            if ((matcher = TRIGGER.matcher(path)).matches()) {
+                endpoint = "trigger";
+            } else if ((matcher = RUNS.matcher(path)).matches()) {
+                endpoint = query.containsKey("runId") ? "run.status" : "runs.list";
+            } else if ((matcher = SYNC.matcher(path)).matches()) {
+                endpoint = "sync.details";
+            } else {
+                endpoint = "syncs.list";
+            }
+            requests.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+
+            this.latency();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < profile.getThrottledRatio()) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                respond(exchange, 429, "{\"message\": \"Too many requests\"}");
+                return;
+            }
+
+            if (random.nextDouble() < profile.getServerErrorRatio()) {
+                respond(exchange, 503, "{\"message\": \"Service unavailable\"}");
+                return;
+            }
+
+            switch (endpoint) {
+                case "trigger" -> respond(exchange, 200, "{\"id\": " + this.addRun(Long.parseLong(matcher.group(1)), Instant.now(), profile.getFinalStatus()) + "}");
+                case "run.status", "runs.list" -> respond(exchange, 200, this.listRuns(Long.parseLong(matcher.group(1)), query));
+                case "sync.details" -> respond(exchange, 200, sync(Long.parseLong(matcher.group(1))));
+                default -> respond(exchange, 200, this.listSyncs(query));
+            }
+        }
+    }
+
+    private String listRuns(long syncId, Map<String, String> query) {
+        Instant now = Instant.now();
+        List<SimulatedRun> syncRuns = runs.computeIfAbsent(syncId, id -> Collections.synchronizedList(new ArrayList<>()));
+        List<SimulatedRun> all;
+        synchronized (syncRuns) {
+            all = new ArrayList<>(syncRuns);
+        }
+
+        // newest first, like the API
+        Collections.reverse(all);
+
+        if (query.containsKey("runId")) {
+            long runId = Long.parseLong(query.get("runId"));
+            all.removeIf(run -> run.id != runId);
+        }
+
+        if (query.containsKey("after")) {
+            Instant after = Instant.parse(query.get("after"));
+            all.removeIf(run -> !run.createdAt.isAfter(after));
+        }
+
+        return page(all.stream().map(run -> run.toJson(now)).toList(), query);
+    }
+
+    private String listSyncs(Map<String, String> query) {
+        return page(runs.keySet().stream().sorted().map(HightouchSimulator::sync).toList(), query);
+    }
+
+    private static String page(List<String> items, Map<String, String> query) {
+        int offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+        int limit = Integer.parseInt(query.getOrDefault("limit", "100"));
+
+        List<String> page = items.subList(Math.min(offset, items.size()), Math.min(offset + limit, items.size()));
+        boolean hasMore = offset + limit < items.size();
+
+        return "{\"data\": [" + String.join(",", page) + "], \"hasMore\": " + hasMore + "}";
+    }
+
+    private static String sync(long syncId) {
+        return "{\"id\": " + syncId + ", \"slug\": \"simulated-" + syncId + "\"}";
+    }
+
+    private void latency() {
+        long latency = profile.getLatency().toMillis();
+        long jitter = profile.getLatencyJitter().toMillis();
+        if (jitter > 0) {
+            latency += ThreadLocalRandom.current().nextLong(jitter + 1);
+        }
+
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                query.put(parameter.substring(0, separator), URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+
+        return query;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * Durations of each phase of the simulated runs, and the failures to inject.
+     */
+    @Getter
+    @Builder
+    static class Profile {
+        @Builder.Default
+        private final Duration queued = Duration.ofMillis(200);
+
+        @Builder.Default
+        private final Duration querying = Duration.ofMillis(300);
+
+        @Builder.Default
+        private final Duration processing = Duration.ofSeconds(1);
+
+        @Builder.Default
+        private final Duration reporting = Duration.ofMillis(200);
+
+        @Builder.Default
+        private final RunStatus finalStatus = RunStatus.SUCCESS;
+
+        @Builder.Default
+        private final long plannedRows = 1000;
+
+        @Builder.Default
+        private final Duration latency = Duration.ZERO;
+
+        @Builder.Default
+        private final Duration latencyJitter = Duration.ZERO;
+
+        @Builder.Default
+        private final double throttledRatio = 0.0;
+
+        @Builder.Default
+        private final double serverErrorRatio = 0.0;
+
+        Duration total() {
+            return queued.plus(querying).plus(processing).plus(reporting);
+        }
+    }
+
+    private final class SimulatedRun {
+        private final long id;
+        private final Instant createdAt;
+        private final RunStatus finalStatus;
+
+        private SimulatedRun(long id, Instant createdAt, RunStatus finalStatus) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.finalStatus = finalStatus;
+        }
+
+        private String toJson(Instant now) {
+            Instant startedAt = createdAt.plus(profile.getQueued());
+            Instant processingAt = startedAt.plus(profile.getQuerying());
+            Instant reportingAt = processingAt.plus(profile.getProcessing());
+            Instant finishedAt = reportingAt.plus(profile.getReporting());
+
+            RunStatus status;
+            long processed = 0;
+            if (now.isBefore(startedAt)) {
+                status = RunStatus.QUEUED;
+            } else if (now.isBefore(processingAt)) {
+                status = RunStatus.QUERYING;
+            } else if (now.isBefore(reportingAt)) {
+                status = RunStatus.PROCESSING;
+                processed = profile.getPlannedRows() * Duration.between(processingAt, now).toMillis() / Math.max(1, profile.getProcessing().toMillis());
+            } else if (now.isBefore(finishedAt)) {
+                status = RunStatus.REPORTING;
+                processed = profile.getPlannedRows();
+            } else {
+                status = finalStatus;
+                processed = profile.getPlannedRows();
+            }
+
+            boolean ended = SyncRunner.ENDED_STATUS.contains(status);
+            long failed = ended && status != RunStatus.SUCCESS ? processed / 10 : 0;
+
+            return """
+                {
+                  "id": %d,
+                  "status": "%s",
+                  "createdAt": "%s",
+                  "startedAt": %s,
+                  "finishedAt": %s,
+                  "completionRatio": %d,
+                  "plannedRows": {"addedCount": %d, "changedCount": 0, "removedCount": 0},
+                  "successfulRows": {"addedCount": %d, "changedCount": 0, "removedCount": 0},
+                  "failedRows": {"addedCount": %d, "changedCount": 0, "removedCount": 0}
+                }""".formatted(
+                id,
+                status,
+                createdAt,
+                status == RunStatus.QUEUED ? "null" : "\"" + startedAt + "\"",
+                ended ? "\"" + finishedAt + "\"" : "null",
+                profile.getPlannedRows() == 0 ? 100 : processed * 100 / profile.getPlannedRows(),
+                profile.getPlannedRows(),
+                processed - failed,
+                failed
+            );
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.kestra.plugin.hightouch;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class HttpMetricsTest {
+    @Test
+    void shouldDocumentEveryEndpoint() {
+        for (HttpMetrics.Endpoint endpoint : HttpMetrics.Endpoint.values()) {
+            assertThat(HttpMetrics.REQUEST_DURATION_DESCRIPTION, containsString(endpoint.tag()));
+        }
+    }
+
+    @Test
+    void shouldTagEndpoints() {
+        assertThat(HttpMetrics.Endpoint.of(URI.create("https://api.hightouch.com/api/v1/syncs/1/cancel")), is(HttpMetrics.Endpoint.CANCEL));
+        assertThat(HttpMetrics.Endpoint.of(URI.create("https://api.hightouch.com/api/v1/syncs/1/trigger")), is(HttpMetrics.Endpoint.TRIGGER));
+        assertThat(HttpMetrics.Endpoint.of(URI.create("https://api.hightouch.com/api/v1/syncs/1/runs?runId=2")), is(HttpMetrics.Endpoint.RUN_STATUS));
+        assertThat(HttpMetrics.Endpoint.of(URI.create("https://api.hightouch.com/api/v1/syncs/1/runs")), is(HttpMetrics.Endpoint.RUNS));
+        assertThat(HttpMetrics.Endpoint.of(URI.create("https://api.hightouch.com/api/v1/syncs?slug=a")), is(HttpMetrics.Endpoint.SYNCS));
+        assertThat(HttpMetrics.Endpoint.of(URI.create("https://api.hightouch.com/api/v1/syncs/1")), is(HttpMetrics.Endpoint.SYNC_DETAILS));
+    }
+}
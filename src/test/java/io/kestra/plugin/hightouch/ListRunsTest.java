@@ -0,0 +1,192 @@
+package io.kestra.plugin.hightouch;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+import lombok.experimental.SuperBuilder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+@WireMockTest(httpPort = 28184)
+class ListRunsTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldOnlyExportNewFinishedRuns() throws Exception {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/5/runs"))
+            .withQueryParam("offset", equalTo("0"))
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {"id": 3, "status": "processing", "createdAt": "2026-01-01T03:00:00Z"},
+                    {"id": 2, "status": "success", "createdAt": "2026-01-01T02:00:00Z"}
+                  ],
+                  "hasMore": true
+                }
+                """)));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/5/runs"))
+            .withQueryParam("offset", equalTo("2"))
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {"id": 1, "status": "failed", "createdAt": "2026-01-01T01:00:00Z"}
+                  ],
+                  "hasMore": false
+                }
+                """)));
+
+        TestListRuns task = TestListRuns.builder()
+            .id("list_runs")
+            .type(ListRuns.class.getName())
+            .base("http://localhost:28184")
+            .token(Property.ofValue("token"))
+            .syncIds(Property.ofValue(List.of(5L)))
+            .pageSize(Property.ofValue(2))
+            .build();
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        ListRuns.Output first = task.run(runContext);
+        assertThat(first.getSize(), is(2L));
+        assertThat(first.getUri(), notNullValue());
+
+        // only runs after the watermark are requested, and the processing run is left for a later execution
+        ListRuns.Output second = task.run(runContext);
+        assertThat(second.getSize(), is(0L));
+        verify(getRequestedFor(urlPathEqualTo("/api/v1/syncs/5/runs")).withQueryParam("after", equalTo("2026-01-01T02:00:00Z")));
+    }
+
+    @Test
+    void shouldNotExportRunsFinishedAfterPendingRunTwice() throws Exception {
+        stubRuns(6, """
+            {"id": 12, "status": "success", "createdAt": "2026-01-01T02:00:00Z"},
+            {"id": 11, "status": "processing", "createdAt": "2026-01-01T01:00:00Z"}
+            """);
+
+        TestListRuns task = TestListRuns.builder()
+            .id("list_runs_pending")
+            .type(ListRuns.class.getName())
+            .base("http://localhost:28184")
+            .token(Property.ofValue("token"))
+            .syncIds(Property.ofValue(List.of(6L)))
+            .build();
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        assertThat(task.run(runContext).getSize(), is(1L));
+
+        // the pending run ended: only it is exported, not the run that ended first
+        stubRuns(6, """
+            {"id": 12, "status": "success", "createdAt": "2026-01-01T02:00:00Z"},
+            {"id": 11, "status": "failed", "createdAt": "2026-01-01T01:00:00Z"}
+            """);
+
+        assertThat(task.run(runContext).getSize(), is(1L));
+        assertThat(task.run(runContext).getSize(), is(0L));
+        verify(getRequestedFor(urlPathEqualTo("/api/v1/syncs/6/runs")).withQueryParam("after", equalTo("2026-01-01T02:00:00Z")));
+    }
+
+    @Test
+    void shouldNotExportRunsReadAgainOnShiftedPagesTwice() throws Exception {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/7/runs"))
+            .withQueryParam("offset", equalTo("0"))
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {"id": 23, "status": "success", "createdAt": "2026-01-01T03:00:00Z"},
+                    {"id": 22, "status": "success", "createdAt": "2026-01-01T02:00:00Z"}
+                  ],
+                  "hasMore": true
+                }
+                """)));
+
+        // run 24 was created in between: the next page starts with a run already read
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/7/runs"))
+            .withQueryParam("offset", equalTo("2"))
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {"id": 22, "status": "success", "createdAt": "2026-01-01T02:00:00Z"},
+                    {"id": 21, "status": "success", "createdAt": "2026-01-01T01:00:00Z"}
+                  ],
+                  "hasMore": false
+                }
+                """)));
+
+        TestListRuns task = TestListRuns.builder()
+            .id("list_runs_shifted")
+            .type(ListRuns.class.getName())
+            .base("http://localhost:28184")
+            .token(Property.ofValue("token"))
+            .syncIds(Property.ofValue(List.of(7L)))
+            .pageSize(Property.ofValue(2))
+            .build();
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        assertThat(task.run(runContext).getSize(), is(3L));
+    }
+
+    @Test
+    void shouldRememberRunsFinishedAfterAnOlderPendingRun() throws Exception {
+        stubRuns(8, """
+            {"id": 33, "status": "success", "createdAt": "2026-01-02T03:00:00Z"},
+            {"id": 32, "status": "success", "createdAt": "2026-01-02T02:00:00Z"},
+            {"id": 31, "status": "processing", "createdAt": "2026-01-02T01:00:00Z"}
+            """);
+
+        TestListRuns task = TestListRuns.builder()
+            .id("list_runs_older_pending")
+            .type(ListRuns.class.getName())
+            .base("http://localhost:28184")
+            .token(Property.ofValue("token"))
+            .syncIds(Property.ofValue(List.of(8L)))
+            .build();
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        assertThat(task.run(runContext).getSize(), is(2L));
+
+        stubRuns(8, """
+            {"id": 33, "status": "success", "createdAt": "2026-01-02T03:00:00Z"},
+            {"id": 32, "status": "success", "createdAt": "2026-01-02T02:00:00Z"},
+            {"id": 31, "status": "failed", "createdAt": "2026-01-02T01:00:00Z"}
+            """);
+
+        assertThat(task.run(runContext).getSize(), is(1L));
+        assertThat(task.run(runContext).getSize(), is(0L));
+    }
+
+    private static void stubRuns(long syncId, String runs) {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/" + syncId + "/runs"))
+            .willReturn(okJson("""
+                {"data": [%s], "hasMore": false}
+                """.formatted(runs))));
+    }
+
+    @SuperBuilder
+    static class TestListRuns extends ListRuns {
+        private final String base;
+
+        @Override
+        public String baseUrl() {
+            return base;
+        }
+    }
+}
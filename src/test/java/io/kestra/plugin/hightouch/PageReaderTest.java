@@ -0,0 +1,59 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class PageReaderTest {
+    private static final String PAYLOAD = """
+        {
+          "data": [
+            {"id": 1, "status": "success", "successfulRows": {"addedCount": 1}, "unknown": {"nested": [1, 2]}},
+            {"id": 2, "status": "processing"},
+            {"id": 3, "status": "failed"}
+          ],
+          "hasMore": true
+        }
+        """;
+
+    @Test
+    void shouldStreamAllRuns() throws Exception {
+        List<Long> ids = new ArrayList<>();
+
+        Boolean hasMore = PageReader.read(stream(PAYLOAD), run -> ids.add(run.getId()));
+
+        assertThat(ids, contains(1L, 2L, 3L));
+        assertThat(hasMore, is(true));
+    }
+
+    @Test
+    void shouldStopOnceRunIsFound() throws Exception {
+        RunDetails run = PageReader.find(stream(PAYLOAD), 2L);
+
+        assertThat(run.getStatus(), is(RunStatus.PROCESSING));
+        assertThat(PageReader.find(stream(PAYLOAD), 4L), is(nullValue()));
+    }
+
+    @Test
+    void shouldReadHasMoreBeforeData() throws Exception {
+        Boolean hasMore = PageReader.read(stream("""
+            {"hasMore": false, "data": []}
+            """), run -> true);
+
+        assertThat(hasMore, is(false));
+    }
+
+    private static InputStream stream(String payload) {
+        return new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,59 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class PollingScheduleTest {
+    @Test
+    void shouldBackOffWithinPhaseAndResetOnTransition() {
+        PollingSchedule schedule = new PollingSchedule(Duration.ofSeconds(1), Duration.ofSeconds(10), 2.0, 0.0, Duration.ofSeconds(2), null, false);
+        Instant now = Instant.now();
+
+        assertThat(schedule.next(null, now), is(Duration.ofSeconds(2)));
+        assertThat(schedule.next(run(RunStatus.QUEUED, null, null), now), is(Duration.ofSeconds(4)));
+        assertThat(schedule.next(run(RunStatus.QUERYING, null, null), now), is(Duration.ofSeconds(8)));
+        assertThat(schedule.next(run(RunStatus.QUERYING, null, null), now), is(Duration.ofSeconds(10)));
+
+        assertThat(schedule.next(run(RunStatus.PROCESSING, null, null), now), is(Duration.ofSeconds(1)));
+        assertThat(schedule.next(run(RunStatus.REPORTING, null, null), now), is(Duration.ofSeconds(2)));
+    }
+
+    @Test
+    void shouldPredictFromCompletionRatio() {
+        PollingSchedule schedule = new PollingSchedule(Duration.ofSeconds(1), Duration.ofMinutes(10), 1.0, 0.0, null, null, true);
+        Instant now = Instant.now();
+
+        // 25% done after 60s: ~180s remaining, next poll halfway there
+        Duration next = schedule.next(run(RunStatus.PROCESSING, now.minusSeconds(60), 25L), now);
+
+        assertThat(next, is(Duration.ofSeconds(90)));
+    }
+
+    @Test
+    void shouldStayWithinBoundsWithJitter() {
+        PollingSchedule schedule = new PollingSchedule(Duration.ofSeconds(1), Duration.ofSeconds(5), 1.5, 0.5, null, null, false);
+        Instant now = Instant.now();
+
+        for (int i = 0; i < 50; i++) {
+            Duration next = schedule.next(run(RunStatus.PROCESSING, null, null), now);
+            assertThat(next, allOf(greaterThanOrEqualTo(Duration.ofSeconds(1)), lessThanOrEqualTo(Duration.ofSeconds(5))));
+        }
+    }
+
+    private static RunDetails run(RunStatus status, Instant startedAt, Long completionRatio) {
+        return RunDetails.builder()
+            .id(1L)
+            .status(status)
+            .startedAt(startedAt)
+            .completionRatio(completionRatio)
+            .build();
+    }
+}
@@ -0,0 +1,68 @@
+package io.kestra.plugin.hightouch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class QuantileSketchTest {
+    @Test
+    void shouldEstimateQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 1; i <= 100_000; i++) {
+            sketch.add(i);
+        }
+
+        assertThat(sketch.count(), is(100_000L));
+        assertThat(sketch.quantile(0.5), closeTo(50_000, 50_000 * 0.01));
+        assertThat(sketch.quantile(0.95), closeTo(95_000, 95_000 * 0.01));
+        assertThat(sketch.quantile(0.99), closeTo(99_000, 99_000 * 0.01));
+        assertThat(sketch.quantile(0.0), is(1.0));
+        assertThat(sketch.quantile(1.0), closeTo(100_000, 100_000 * 0.01));
+        assertThat(sketch.mean(), closeTo(50_000.5, 0.001));
+    }
+
+    @Test
+    void shouldMergeSketches() {
+        QuantileSketch low = new QuantileSketch();
+        QuantileSketch high = new QuantileSketch();
+        QuantileSketch all = new QuantileSketch();
+
+        for (int i = 1; i <= 1000; i++) {
+            (i <= 500 ? low : high).add(i);
+            all.add(i);
+        }
+
+        low.merge(high);
+
+        assertThat(low.count(), is(all.count()));
+        assertThat(low.min(), is(1.0));
+        assertThat(low.max(), is(1000.0));
+        assertThat(low.quantile(0.5), is(all.quantile(0.5)));
+        assertThat(low.quantile(0.95), is(all.quantile(0.95)));
+    }
+
+    @Test
+    void shouldStayBoundedWhateverTheRange() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value = 1e-6; value < 1e300; value *= 1.001) {
+            sketch.add(value);
+        }
+
+        assertThat(sketch.bucketCount(), lessThanOrEqualTo(QuantileSketch.MAX_BUCKETS));
+        assertThat(sketch.quantile(0.99), allOf(greaterThan(1e296), lessThan(1e298)));
+    }
+
+    @Test
+    void shouldCountZeros() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(10);
+        sketch.add(-1);
+
+        assertThat(sketch.count(), is(3L));
+        assertThat(sketch.quantile(0.5), is(0.0));
+        assertThat(sketch.quantile(1.0), closeTo(10, 0.1));
+    }
+}
@@ -0,0 +1,104 @@
+package io.kestra.plugin.hightouch;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RateLimiterTest {
+    @Test
+    void shouldQueueOnceBurstIsConsumed() {
+        RateLimiter limiter = new RateLimiter(10, 2);
+        long now = System.nanoTime();
+
+        assertThat(limiter.reserve(now), is(0L));
+        assertThat(limiter.reserve(now), is(0L));
+
+        // third request waits for one refill at 10 permits/s, the fourth for two
+        assertThat(TimeUnit.NANOSECONDS.toMillis(limiter.reserve(now)), allOf(greaterThan(90L), lessThanOrEqualTo(100L)));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(limiter.reserve(now)), allOf(greaterThan(190L), lessThanOrEqualTo(200L)));
+    }
+
+    @Test
+    void shouldHonorRetryAfter() {
+        RateLimiter limiter = new RateLimiter(10, 2);
+
+        Duration delay = limiter.throttled(headers(Map.of("Retry-After", List.of("3"))));
+
+        assertThat(delay, is(Duration.ofSeconds(3)));
+        assertThat(limiter.reserve(System.nanoTime()), greaterThan(TimeUnit.SECONDS.toNanos(2)));
+    }
+
+    @Test
+    void shouldPauseWhenBudgetIsExhausted() {
+        RateLimiter limiter = new RateLimiter(10, 2);
+
+        limiter.update(headers(Map.of("RateLimit-Remaining", List.of("0"), "RateLimit-Reset", List.of("5"))));
+
+        assertThat(limiter.reserve(System.nanoTime()), greaterThan(TimeUnit.SECONDS.toNanos(4)));
+    }
+
+    @Test
+    void shouldSpreadRequestsQueuedDuringPause() {
+        RateLimiter limiter = new RateLimiter(10, 20);
+
+        limiter.pause(Duration.ofSeconds(1));
+
+        long now = System.nanoTime();
+        long previous = limiter.reserve(now);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(previous), allOf(greaterThanOrEqualTo(1000L), lessThanOrEqualTo(1100L)));
+
+        // the burst is not refilled during the pause: every following request waits one more refill at 10 permits/s
+        for (int i = 0; i < 30; i++) {
+            long wait = limiter.reserve(now);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(wait - previous), allOf(greaterThanOrEqualTo(99L), lessThanOrEqualTo(101L)));
+            previous = wait;
+        }
+    }
+
+    @Test
+    void shouldUseConfiguredBudget() {
+        String key = "http://localhost#budget";
+
+        RateLimiter defaults = RateLimiter.of(key);
+        assertThat(RateLimiter.of(key, null, null), sameInstance(defaults));
+
+        RateLimiter configured = RateLimiter.of(key, 50.0, 5.0);
+        assertThat(configured, sameInstance(defaults));
+
+        long now = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            assertThat(configured.reserve(now), is(0L));
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(configured.reserve(now)), allOf(greaterThan(15L), lessThanOrEqualTo(20L)));
+    }
+
+    @Test
+    void shouldNotRefillWhenReconfigured() {
+        RateLimiter limiter = new RateLimiter(10, 2);
+        long now = System.nanoTime();
+
+        limiter.reserve(now);
+        limiter.reserve(now);
+
+        // another task asking for a bigger budget does not get a full bucket
+        limiter.reconfigure(10.0, 20.0, now);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(limiter.reserve(now)), allOf(greaterThan(90L), lessThanOrEqualTo(100L)));
+
+        // and a smaller burst caps the tokens left
+        RateLimiter full = new RateLimiter(10, 20);
+        full.reconfigure(null, 1.0, now);
+        assertThat(full.reserve(now), is(0L));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(full.reserve(now)), allOf(greaterThan(90L), lessThanOrEqualTo(100L)));
+    }
+
+    private static HttpHeaders headers(Map<String, List<String>> values) {
+        return HttpHeaders.of(values, (name, value) -> true);
+    }
+}
@@ -0,0 +1,183 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest(httpPort = 28190)
+class ReportRunTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldCompleteSyncFromReportedRun() throws Exception {
+        stubSync();
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/9/runs"))
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {
+                      "id": 88,
+                      "status": "success",
+                      "completionRatio": 100,
+                      "successfulRows": {"addedCount": 12, "removedCount": 0, "changedCount": 3},
+                      "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+                    }
+                  ]
+                }
+                """)));
+
+        ReportRun report = ReportRun.builder()
+            .id("report")
+            .type(ReportRun.class.getName())
+            .payload(Property.ofValue("""
+                {
+                  "syncId": "9",
+                  "run": {
+                    "id": 88,
+                    "status": "success",
+                    "completionRatio": 100,
+                    "successfulRows": {"addedCount": 12, "removedCount": 0, "changedCount": 3}
+                  }
+                }
+                """))
+            .build();
+
+        ReportRun.Output reported = report.run(TestsUtils.mockRunContext(runContextFactory, report, Map.of()));
+
+        assertThat(reported.getSyncId(), is(9L));
+        assertThat(reported.getRunId(), is(88L));
+        assertThat(reported.getStatus(), is(RunStatus.SUCCESS));
+
+        SyncTest.TestSync task = task(Duration.ofHours(1));
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        Sync.Output output = task.run(runContext);
+
+        assertThat(output.getRunId(), is(88L));
+        assertThat(output.getMetadata().getStatus(), is(RunStatus.SUCCESS));
+        assertThat(output.getMetadata().getSuccessfulRows().getAddedCount(), is(12L));
+        assertThat(output.getMetadata().getFailedRows().getAddedCount(), is(0L));
+        // the report is confirmed with a single lookup, instead of polling
+        verify(1, getRequestedFor(urlPathEqualTo("/api/v1/syncs/9/runs")));
+        assertThat(RunReport.get(runContext, "9", 88L).isPresent(), is(false));
+    }
+
+    @Test
+    void shouldPollWhenApiDoesNotConfirmReport() throws Exception {
+        stubSync();
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/9/runs"))
+            .inScenario("confirm")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willSetStateTo("ended")
+            .willReturn(okJson("""
+                {"data": [{"id": 88, "status": "processing", "completionRatio": 50}]}
+                """)));
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/9/runs"))
+            .inScenario("confirm")
+            .whenScenarioStateIs("ended")
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {
+                      "id": 88,
+                      "status": "success",
+                      "completionRatio": 100,
+                      "successfulRows": {"addedCount": 40, "removedCount": 0, "changedCount": 0},
+                      "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+                    }
+                  ]
+                }
+                """)));
+
+        SyncTest.TestSync task = task(Duration.ofHours(1));
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        // a spoofed report of a failure
+        RunReport.put(runContext, "9", RunDetails.builder().id(88L).status(RunStatus.FAILED).build());
+
+        Sync.Output output = task.run(runContext);
+
+        assertThat(output.getMetadata().getStatus(), is(RunStatus.SUCCESS));
+        assertThat(output.getMetadata().getSuccessfulRows().getAddedCount(), is(40L));
+        verify(2, getRequestedFor(urlPathEqualTo("/api/v1/syncs/9/runs")));
+    }
+
+    @Test
+    void shouldFallBackToPollingWithoutReport() throws Exception {
+        stubSync();
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/9/runs"))
+            .willReturn(okJson("""
+                {"data": [{"id": 88, "status": "success", "completionRatio": 100}]}
+                """)));
+
+        SyncTest.TestSync task = task(Duration.ofMillis(500));
+
+        Sync.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+        assertThat(output.getMetadata().getStatus(), is(RunStatus.SUCCESS));
+        verify(moreThanOrExactly(1), getRequestedFor(urlPathEqualTo("/api/v1/syncs/9/runs")));
+    }
+
+    @Test
+    void shouldRejectPayloadWithoutStatus() {
+        ReportRun report = ReportRun.builder()
+            .id("report")
+            .type(ReportRun.class.getName())
+            .payload(Property.ofValue("""
+                {"syncId": 9, "runId": 88}
+                """))
+            .build();
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> report.run(TestsUtils.mockRunContext(runContextFactory, report, Map.of()))
+        );
+        assertThat(exception.getMessage(), containsString("no run status"));
+    }
+
+    private static SyncTest.TestSync task(Duration fallbackInterval) {
+        return SyncTest.TestSync.builder()
+            .id("sync")
+            .type(Sync.class.getName())
+            .base("http://localhost:28190")
+            .token(Property.ofValue("token"))
+            .syncId(Property.ofValue(9L))
+            .completion(Property.ofValue(Sync.Completion.WEBHOOK))
+            .webhookFallbackInterval(Property.ofValue(fallbackInterval))
+            .maxDuration(Property.ofValue(Duration.ofSeconds(30)))
+            .build();
+    }
+
+    private void stubSync() {
+        stubFor(get(urlEqualTo("/api/v1/syncs/9"))
+            .willReturn(okJson("""
+                {"id": 9, "slug": "webhook"}
+                """)));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/9/trigger"))
+            .willReturn(okJson("""
+                {"id": 88}
+                """)));
+    }
+}
@@ -0,0 +1,100 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hightouch.models.ModifiedRows;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class RunProgressTest {
+    private static final Instant STARTED = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldPublishDeltasAtMostOncePerInterval() {
+        RunContext runContext = runContextFactory.of();
+        RunProgress progress = new RunProgress(runContext, Duration.ofSeconds(10));
+
+        progress.observe(run(RunStatus.PROCESSING, 10L, 100L), STARTED);
+        progress.observe(run(RunStatus.PROCESSING, 20L, 200L), STARTED.plusSeconds(5));
+        progress.observe(run(RunStatus.PROCESSING, 50L, 500L), STARTED.plusSeconds(10));
+
+        assertThat(values(runContext, "completion.ratio"), contains(10.0, 40.0));
+        assertThat(values(runContext, "rows.successfully.added"), contains(100.0, 400.0));
+
+        progress.observe(run(RunStatus.SUCCESS, 100L, 1000L), STARTED.plusSeconds(12));
+        progress.complete(run(RunStatus.SUCCESS, 100L, 1000L));
+
+        assertThat(sum(runContext, "completion.ratio"), is(100.0));
+        assertThat(sum(runContext, "rows.successfully.added"), is(1000.0));
+        // counters that never moved are still reported once
+        assertThat(values(runContext, "rows.failed.added"), contains(0.0));
+    }
+
+    @Test
+    void shouldCountEachStatusWhenObserved() {
+        RunContext runContext = runContextFactory.of();
+        RunProgress progress = new RunProgress(runContext, Duration.ofHours(1), "syncId", "1");
+
+        progress.observe(run(RunStatus.QUEUED, null, 0L), STARTED);
+        progress.observe(run(RunStatus.QUEUED, null, 0L), STARTED.plusSeconds(1));
+        progress.observe(run(RunStatus.PROCESSING, 10L, 10L), STARTED.plusSeconds(2));
+
+        List<AbstractMetricEntry<?>> statuses = runContext.metrics().stream()
+            .filter(metric -> metric.getName().equals("run.status"))
+            .toList();
+
+        assertThat(statuses, hasSize(2));
+        assertThat(statuses.get(1).getTags().get("status"), is("processing"));
+        assertThat(statuses.get(1).getTags().get("syncId"), is("1"));
+    }
+
+    @Test
+    void shouldOnlyPublishAtEndWithoutInterval() {
+        RunContext runContext = runContextFactory.of();
+        RunProgress progress = new RunProgress(runContext, Duration.ZERO);
+
+        progress.observe(run(RunStatus.PROCESSING, 50L, 500L), STARTED);
+        assertThat(values(runContext, "completion.ratio"), empty());
+
+        progress.complete(run(RunStatus.SUCCESS, 100L, 1000L));
+        assertThat(values(runContext, "completion.ratio"), contains(100.0));
+    }
+
+    private static List<Double> values(RunContext runContext, String name) {
+        return runContext.metrics().stream()
+            .filter(metric -> metric.getName().equals(name))
+            .map(metric -> ((Number) metric.getValue()).doubleValue())
+            .toList();
+    }
+
+    private static double sum(RunContext runContext, String name) {
+        return values(runContext, name).stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+    private static RunDetails run(RunStatus status, Long completionRatio, long added) {
+        return RunDetails.builder()
+            .id(1L)
+            .status(status)
+            .completionRatio(completionRatio)
+            .successfulRows(ModifiedRows.builder().addedCount(added).changedCount(0L).removedCount(0L).build())
+            .failedRows(ModifiedRows.builder().addedCount(0L).changedCount(0L).removedCount(0L).build())
+            .build();
+    }
+}
@@ -0,0 +1,117 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+import lombok.experimental.SuperBuilder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+@WireMockTest(httpPort = 28193)
+class RunStatsTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void run() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        Instant now = Instant.now();
+
+        // two pages for sync 1: durations of 10s, 20s, 30s, plus a failure of 40s
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/1/runs"))
+            .withQueryParam("offset", equalTo("0"))
+            .willReturn(okJson(page(true,
+                run(1, "success", now.minusSeconds(100), 10, 100),
+                run(2, "success", now.minusSeconds(200), 20, 100)
+            ))));
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/1/runs"))
+            .withQueryParam("offset", equalTo("2"))
+            .willReturn(okJson(page(false,
+                run(3, "success", now.minusSeconds(300), 30, 300),
+                run(4, "failed", now.minusSeconds(400), 40, 0),
+                // older than the lookback
+                run(5, "success", now.minus(Duration.ofDays(40)), 1000, 100),
+                // still running
+                """
+                {"id": 6, "status": "processing", "createdAt": "%s"}
+                """.formatted(now.minusSeconds(10))
+            ))));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/2/runs"))
+            .willReturn(okJson(page(false,
+                run(7, "success", now.minusSeconds(100), 50, 500)
+            ))));
+
+        TestRunStats task = TestRunStats.builder()
+            .base("http://localhost:28193")
+            .token(Property.ofValue("token"))
+            .syncIds(Property.ofValue(List.of(1L, 2L)))
+            .pageSize(Property.ofValue(2))
+            .build();
+
+        RunStats.Output output = task.run(runContext);
+
+        RunStats.Summary first = output.getSyncs().getFirst();
+        assertThat(first.getSyncId(), is(1L));
+        assertThat(first.getRuns(), is(4L));
+        assertThat(first.getFailedRuns(), is(1L));
+        assertThat(first.getFailureRate(), is(0.25));
+        assertThat(first.getSuccessfulRows(), is(500L));
+        assertThat(first.getDuration().getMin(), is(10.0));
+        assertThat(first.getDuration().getMax(), is(40.0));
+        assertThat(first.getDuration().getP50(), closeTo(20.0, 0.5));
+        assertThat(first.getRowsPerSecond().getMax(), closeTo(10.0, 0.1));
+
+        RunStats.Summary total = output.getTotal();
+        assertThat(total.getSyncId(), is(nullValue()));
+        assertThat(total.getRuns(), is(5L));
+        assertThat(total.getDuration().getMax(), is(50.0));
+        assertThat(total.getFailureRate(), is(0.2));
+
+        assertThat(SyncTest.metric(runContext, "runs", "syncId", "2"), is(1.0));
+    }
+
+    private static String page(boolean hasMore, String... runs) {
+        return """
+            {"data": [%s], "hasMore": %s}
+            """.formatted(String.join(",", runs), hasMore);
+    }
+
+    private static String run(long id, String status, Instant createdAt, long seconds, long rows) {
+        return """
+            {
+              "id": %d,
+              "status": "%s",
+              "createdAt": "%s",
+              "finishedAt": "%s",
+              "querySize": %d,
+              "successfulRows": {"addedCount": %d, "removedCount": 0, "changedCount": 0},
+              "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+            }
+            """.formatted(id, status, createdAt, createdAt.plusSeconds(seconds), rows * 10, rows);
+    }
+
+    @SuperBuilder
+    static class TestRunStats extends RunStats {
+        private final String base;
+
+        @Override
+        public String baseUrl() {
+            return base;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RunStatusPollerTest {
+    @Test
+    void shouldCoalesceWatchesOfTheSameSync() throws Exception {
+        RunStatusPoller poller = new RunStatusPoller();
+        FakeRunner runner = new FakeRunner();
+        runner.statuses.put(1L, RunStatus.PROCESSING);
+        runner.statuses.put(2L, RunStatus.PROCESSING);
+
+        try (
+            RunStatusPoller.Registration first = poller.watch("key", "10", 1L, schedule(), runner, run -> {});
+            RunStatusPoller.Registration duplicate = poller.watch("key", "10", 1L, schedule(), runner, run -> {});
+            RunStatusPoller.Registration second = poller.watch("key", "10", 2L, schedule(), runner, run -> {})
+        ) {
+            assertThat(poller.groupCount(), is(1));
+
+            Thread.sleep(100);
+            assertThat(runner.listed.get(), greaterThan(0));
+
+            runner.statuses.put(1L, RunStatus.SUCCESS);
+            runner.statuses.put(2L, RunStatus.FAILED);
+
+            assertThat(first.future().get(5, TimeUnit.SECONDS).getStatus(), is(RunStatus.SUCCESS));
+            assertThat(duplicate.future().get(5, TimeUnit.SECONDS).getStatus(), is(RunStatus.SUCCESS));
+            assertThat(second.future().get(5, TimeUnit.SECONDS).getStatus(), is(RunStatus.FAILED));
+        }
+
+        assertThat(poller.groupCount(), is(0));
+    }
+
+    @Test
+    void shouldFailAllWatchesOnError() {
+        RunStatusPoller poller = new RunStatusPoller();
+        FakeRunner runner = new FakeRunner();
+        runner.failure = new IllegalStateException("boom");
+
+        try (RunStatusPoller.Registration registration = poller.watch("key", "10", 1L, schedule(), runner, run -> {})) {
+            Exception exception = org.junit.jupiter.api.Assertions.assertThrows(
+                Exception.class,
+                () -> registration.future().get(5, TimeUnit.SECONDS)
+            );
+            assertThat(exception.getCause().getMessage(), is("boom"));
+        }
+    }
+
+    @Test
+    void shouldRetryTransientFailures() throws Exception {
+        RunStatusPoller poller = new RunStatusPoller();
+        FakeRunner runner = new FakeRunner();
+        runner.statuses.put(1L, RunStatus.SUCCESS);
+        runner.failure = new UncheckedIOException(new IOException("Connection reset"));
+
+        try (RunStatusPoller.Registration registration = poller.watch("transient", "10", 1L, schedule(), runner, run -> {})) {
+            Thread.sleep(100);
+            assertThat(registration.future().isDone(), is(false));
+
+            runner.failure = null;
+
+            assertThat(registration.future().get(5, TimeUnit.SECONDS).getStatus(), is(RunStatus.SUCCESS));
+            assertThat(registration.retries(), greaterThanOrEqualTo(1));
+        }
+    }
+
+    @Test
+    void shouldOnlyFailTheRunWhoseLookupFailed() throws Exception {
+        RunStatusPoller poller = new RunStatusPoller();
+        FakeRunner runner = new FakeRunner();
+        runner.statuses.put(1L, RunStatus.PROCESSING);
+        runner.failures.put(2L, new IllegalStateException("gone"));
+
+        try (
+            RunStatusPoller.Registration first = poller.watch("partial", "10", 1L, schedule(), runner, run -> {});
+            RunStatusPoller.Registration second = poller.watch("partial", "10", 2L, schedule(), runner, run -> {})
+        ) {
+            Exception exception = org.junit.jupiter.api.Assertions.assertThrows(
+                Exception.class,
+                () -> second.future().get(5, TimeUnit.SECONDS)
+            );
+            assertThat(exception.getCause().getMessage(), is("gone"));
+
+            Thread.sleep(100);
+            assertThat(first.future().isDone(), is(false));
+
+            runner.statuses.put(1L, RunStatus.SUCCESS);
+
+            assertThat(first.future().get(5, TimeUnit.SECONDS).getStatus(), is(RunStatus.SUCCESS));
+        }
+    }
+
+    @Test
+    void shouldLogRetriesInEveryWaitingTask() throws Exception {
+        RunStatusPoller poller = new RunStatusPoller();
+        FakeRunner borrowed = new FakeRunner();
+        FakeRunner other = new FakeRunner();
+        borrowed.statuses.put(1L, RunStatus.PROCESSING);
+        borrowed.failure = new UncheckedIOException(new IOException("Connection reset"));
+
+        try (
+            RunStatusPoller.Registration first = poller.watch("logged", "10", 1L, schedule(), borrowed, run -> {});
+            RunStatusPoller.Registration second = poller.watch("logged", "10", 1L, schedule(), other, run -> {})
+        ) {
+            Thread.sleep(100);
+
+            assertThat(borrowed.pollFailures.get(), greaterThanOrEqualTo(1));
+            assertThat(other.pollFailures.get(), greaterThanOrEqualTo(1));
+            assertThat(first.retries(), greaterThanOrEqualTo(1));
+            assertThat(second.retries(), greaterThanOrEqualTo(1));
+        }
+    }
+
+    @Test
+    void shouldPollFollowingTheMostEagerSchedule() throws Exception {
+        RunStatusPoller poller = new RunStatusPoller();
+        FakeRunner runner = new FakeRunner();
+        runner.statuses.put(1L, RunStatus.PROCESSING);
+        PollingSchedule slow = new PollingSchedule(Duration.ofHours(1), Duration.ofHours(1), 1.0, 0.0, null, null, false);
+
+        try (
+            RunStatusPoller.Registration first = poller.watch("eager", "10", 1L, slow, runner, run -> {});
+            RunStatusPoller.Registration second = poller.watch("eager", "10", 1L, schedule(), runner, run -> {})
+        ) {
+            Thread.sleep(200);
+
+            assertThat(runner.fetched.get(), greaterThan(2));
+        }
+    }
+
+    private static PollingSchedule schedule() {
+        return new PollingSchedule(Duration.ofMillis(10), Duration.ofMillis(10), 1.0, 0.0, null, null, false);
+    }
+
+    private static class FakeRunner extends SyncRunner {
+        private final Map<Long, RunStatus> statuses = new ConcurrentHashMap<>();
+        private final Map<Long, RuntimeException> failures = new ConcurrentHashMap<>();
+        private final AtomicInteger listed = new AtomicInteger();
+        private final AtomicInteger fetched = new AtomicInteger();
+        private final AtomicInteger pollFailures = new AtomicInteger();
+        private volatile RuntimeException failure;
+
+        FakeRunner() {
+            super(null, LoggerFactory.getLogger(FakeRunner.class));
+        }
+
+        @Override
+        Boolean listRuns(String syncId, String query, int limit, int offset, Predicate<RunDetails> consumer) {
+            listed.incrementAndGet();
+
+            for (Map.Entry<Long, RunStatus> entry : statuses.entrySet()) {
+                if (!consumer.test(run(entry.getKey(), entry.getValue()))) {
+                    return null;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        RunDetails fetchRun(String syncId, Long runId) {
+            fetched.incrementAndGet();
+
+            if (failure != null) {
+                throw failure;
+            }
+
+            if (failures.containsKey(runId)) {
+                throw failures.get(runId);
+            }
+
+            RunStatus status = statuses.get(runId);
+            return status == null ? null : run(runId, status);
+        }
+
+        @Override
+        void pollFailed(String syncId, Exception e, Duration retryIn) {
+            pollFailures.incrementAndGet();
+        }
+
+        private static RunDetails run(Long id, RunStatus status) {
+            return RunDetails.builder().id(id).status(status).build();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hightouch.models.ModifiedRows;
+import io.kestra.plugin.hightouch.models.RunDetails;
+import io.kestra.plugin.hightouch.models.RunStatus;
+import io.kestra.plugin.hightouch.models.StatusTransition;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class RunTimelineTest {
+    private static final Instant CREATED = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldKeepTransitionsOnly() {
+        RunTimeline timeline = new RunTimeline();
+
+        timeline.observe(null, CREATED);
+        timeline.observe(run(RunStatus.QUEUED), CREATED.plusSeconds(1));
+        timeline.observe(run(RunStatus.QUEUED), CREATED.plusSeconds(2));
+        timeline.observe(run(RunStatus.PROCESSING), CREATED.plusSeconds(3));
+
+        List<StatusTransition> transitions = timeline.transitions();
+        assertThat(transitions, hasSize(2));
+        assertThat(transitions.get(0).getObservedAt(), is(CREATED.plusSeconds(1)));
+        assertThat(transitions.get(1).getStatus(), is(RunStatus.PROCESSING));
+    }
+
+    @Test
+    void shouldDerivePhasesAndThroughput() {
+        RunContext runContext = runContextFactory.of();
+        RunTimeline timeline = new RunTimeline();
+
+        timeline.observe(run(RunStatus.QUEUED), CREATED.plusSeconds(1));
+        timeline.observe(run(RunStatus.QUERYING), CREATED.plusSeconds(12));
+        timeline.observe(run(RunStatus.PROCESSING), CREATED.plusSeconds(30));
+        timeline.observe(run(RunStatus.REPORTING), CREATED.plusSeconds(80));
+        timeline.observe(run(RunStatus.SUCCESS), CREATED.plusSeconds(95));
+
+        RunDetails finished = RunDetails.builder()
+            .id(1L)
+            .status(RunStatus.SUCCESS)
+            .createdAt(CREATED)
+            .startedAt(CREATED.plusSeconds(10))
+            .finishedAt(CREATED.plusSeconds(90))
+            .plannedRows(rows(1000))
+            .successfulRows(rows(450))
+            .failedRows(rows(50))
+            .build();
+
+        timeline.metrics(runContext, finished);
+
+        assertThat(metric(runContext, "phase.queued.duration"), is(Duration.ofSeconds(10)));
+        assertThat(metric(runContext, "phase.querying.duration"), is(Duration.ofSeconds(20)));
+        assertThat(metric(runContext, "phase.processing.duration"), is(Duration.ofSeconds(50)));
+        assertThat(metric(runContext, "phase.reporting.duration"), is(Duration.ofSeconds(10)));
+        assertThat(metric(runContext, "rows.per.second"), is(500 / 60.0));
+        assertThat(metric(runContext, "rows.planned.ratio"), is(0.5));
+    }
+
+    private static Object metric(RunContext runContext, String name) {
+        return runContext.metrics().stream()
+            .filter(metric -> metric.getName().equals(name))
+            .map(AbstractMetricEntry::getValue)
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static RunDetails run(RunStatus status) {
+        return RunDetails.builder().id(1L).status(status).build();
+    }
+
+    private static ModifiedRows rows(long added) {
+        return ModifiedRows.builder().addedCount(added).changedCount(0L).removedCount(0L).build();
+    }
+}
@@ -0,0 +1,135 @@
+package io.kestra.plugin.hightouch;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+@WireMockTest(httpPort = 28188)
+class SyncAlreadyRunningTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldAttachToActiveRun() throws Exception {
+        stubDetails(11L);
+        stubListing(11L, """
+            {"id": 50, "status": "processing"}, {"id": 49, "status": "success"}
+            """);
+        stubRun(11L, 50L);
+
+        Sync.Output output = task(11L, "attach-token").run(runContextFactory.of());
+
+        assertThat(output.getRunId(), is(50L));
+        verify(0, postRequestedFor(urlEqualTo("/api/v1/syncs/11/trigger")));
+    }
+
+    @Test
+    void shouldShareTriggerBetweenConcurrentTasks() throws Exception {
+        stubDetails(12L);
+        stubListing(12L, "");
+        stubRun(12L, 60L);
+        stubFor(post(urlEqualTo("/api/v1/syncs/12/trigger"))
+            .willReturn(okJson("""
+                {"id": 60}
+                """).withFixedDelay(500)));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Sync.Output>> outputs = List.of(
+                executor.submit(() -> task(12L, "coalesce-token").run(runContextFactory.of())),
+                executor.submit(() -> task(12L, "coalesce-token").run(runContextFactory.of()))
+            );
+
+            for (Future<Sync.Output> output : outputs) {
+                assertThat(output.get().getRunId(), is(60L));
+            }
+        }
+
+        verify(1, postRequestedFor(urlEqualTo("/api/v1/syncs/12/trigger")));
+    }
+
+    @Test
+    void shouldNotShareTriggerBetweenModes() throws Exception {
+        stubDetails(13L);
+        stubListing(13L, "");
+        stubRun(13L, 70L);
+        stubFor(post(urlEqualTo("/api/v1/syncs/13/trigger"))
+            .willReturn(okJson("""
+                {"id": 70}
+                """).withFixedDelay(500)));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Sync.Output>> outputs = List.of(
+                executor.submit(() -> task(13L, "modes-token", Sync.OnAlreadyRunning.ATTACH).run(runContextFactory.of())),
+                executor.submit(() -> task(13L, "modes-token", Sync.OnAlreadyRunning.QUEUE).run(runContextFactory.of()))
+            );
+
+            for (Future<Sync.Output> output : outputs) {
+                assertThat(output.get().getRunId(), is(70L));
+            }
+        }
+
+        verify(2, postRequestedFor(urlEqualTo("/api/v1/syncs/13/trigger")));
+    }
+
+    private static SyncTest.TestSync task(Long syncId, String token) {
+        return task(syncId, token, Sync.OnAlreadyRunning.ATTACH);
+    }
+
+    private static SyncTest.TestSync task(Long syncId, String token, Sync.OnAlreadyRunning onAlreadyRunning) {
+        return SyncTest.TestSync.builder()
+            .base("http://localhost:28188")
+            .token(Property.ofValue(token))
+            .syncId(Property.ofValue(syncId))
+            .onAlreadyRunning(Property.ofValue(onAlreadyRunning))
+            .build();
+    }
+
+    private void stubDetails(Long syncId) {
+        stubFor(get(urlEqualTo("/api/v1/syncs/" + syncId))
+            .willReturn(okJson("""
+                {"id": %d, "slug": "sync-%d"}
+                """.formatted(syncId, syncId))));
+    }
+
+    private void stubListing(Long syncId, String runs) {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/" + syncId + "/runs"))
+            .withQueryParam("limit", matching(".*"))
+            .willReturn(okJson("""
+                {"data": [%s], "hasMore": false}
+                """.formatted(runs))));
+    }
+
+    private void stubRun(Long syncId, Long runId) {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/" + syncId + "/runs"))
+            .withQueryParam("runId", equalTo(String.valueOf(runId)))
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {
+                      "id": %d,
+                      "status": "success",
+                      "completionRatio": 100,
+                      "successfulRows": {"addedCount": 1, "removedCount": 0, "changedCount": 0},
+                      "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+                    }
+                  ]
+                }
+                """.formatted(runId))));
+    }
+}
@@ -0,0 +1,163 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest(httpPort = 28195)
+class SyncCancelTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldCancelRunOnTimeout() {
+        stubSync();
+
+        SyncTest.TestSync task = task("cancel-token", Sync.OnTimeout.CANCEL);
+
+        TimeoutException exception = assertThrows(TimeoutException.class, () -> task.run(runContextFactory.of()));
+
+        assertThat(exception.getMessage(), containsString("runId 71 was cancelled"));
+        verify(1, postRequestedFor(urlEqualTo("/api/v1/syncs/7/cancel"))
+            .withRequestBody(equalToJson("""
+                {"runId": 71}
+                """)));
+    }
+
+    @Test
+    void shouldDetachOnTimeout() throws Exception {
+        stubSync();
+
+        SyncTest.TestSync task = task("detach-token", Sync.OnTimeout.DETACH);
+
+        Sync.Output output = task.run(runContextFactory.of());
+
+        assertThat(output.getRunId(), is(71L));
+        assertThat(output.getMetadata(), nullValue());
+        verify(0, postRequestedFor(urlEqualTo("/api/v1/syncs/7/cancel")));
+    }
+
+    @Test
+    void shouldFailOnTimeoutWithoutCancelling() {
+        stubSync();
+
+        SyncTest.TestSync task = task("fail-token", Sync.OnTimeout.FAIL);
+
+        assertThrows(TimeoutException.class, () -> task.run(runContextFactory.of()));
+        verify(0, postRequestedFor(urlEqualTo("/api/v1/syncs/7/cancel")));
+    }
+
+    @Test
+    void shouldCancelRunOnKill() throws Exception {
+        stubSync();
+
+        SyncTest.TestSync task = SyncTest.TestSync.builder()
+            .base("http://localhost:28195")
+            .token(Property.ofValue("kill-token"))
+            .syncId(Property.ofValue(7L))
+            .maxDuration(Property.ofValue(Duration.ofMinutes(1)))
+            .pollingPolicy(PollingPolicy.builder()
+                .minInterval(Property.ofValue(Duration.ofMillis(100)))
+                .build())
+            .build();
+
+        CompletableFuture<Sync.Output> running = CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.run(runContextFactory.of());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        // wait for the task to await the run
+        for (int i = 0; i < 100 && findAll(getRequestedFor(urlPathEqualTo("/api/v1/syncs/7/runs"))).isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+
+        task.kill();
+
+        verify(1, postRequestedFor(urlEqualTo("/api/v1/syncs/7/cancel")));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> running.get(10, TimeUnit.SECONDS));
+        assertThat(exception.getCause().getMessage(), containsString("cancelled"));
+    }
+
+    private static SyncTest.TestSync task(String token, Sync.OnTimeout onTimeout) {
+        return SyncTest.TestSync.builder()
+            .base("http://localhost:28195")
+            .token(Property.ofValue(token))
+            .syncId(Property.ofValue(7L))
+            .maxDuration(Property.ofValue(Duration.ofMillis(500)))
+            .onTimeout(Property.ofValue(onTimeout))
+            .cancelGracePeriod(Property.ofValue(Duration.ofSeconds(5)))
+            .pollingPolicy(PollingPolicy.builder()
+                .minInterval(Property.ofValue(Duration.ofMillis(100)))
+                .build())
+            .build();
+    }
+
+    /**
+     * The run keeps processing until it is cancelled.
+     */
+    private void stubSync() {
+        stubFor(get(urlEqualTo("/api/v1/syncs/7"))
+            .willReturn(okJson("""
+                {"id": 7, "slug": "cancel"}
+                """)));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/7/trigger"))
+            .willReturn(okJson("""
+                {"id": 71}
+                """)));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/7/runs"))
+            .inScenario("cancel")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(okJson(run("processing"))));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/7/cancel"))
+            .inScenario("cancel")
+            .willSetStateTo("cancelled")
+            .willReturn(okJson("{}")));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/7/runs"))
+            .inScenario("cancel")
+            .whenScenarioStateIs("cancelled")
+            .willReturn(okJson(run("cancelled"))));
+    }
+
+    private static String run(String status) {
+        return """
+            {
+              "data": [
+                {
+                  "id": 71,
+                  "status": "%s",
+                  "completionRatio": 40,
+                  "successfulRows": {"addedCount": 4, "removedCount": 0, "changedCount": 0},
+                  "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+                }
+              ]
+            }
+            """.formatted(status);
+    }
+}
@@ -0,0 +1,127 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+@WireMockTest(httpPort = 28191)
+class SyncCompressionTest {
+    private static final String RUNS = """
+        {
+          "data": [
+            {
+              "id": 55,
+              "status": "success",
+              "completionRatio": 100,
+              "successfulRows": {"addedCount": 10, "removedCount": 0, "changedCount": 0},
+              "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+            }
+          ]
+        }
+        """;
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldDecodeCompressedResponses() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        stubFor(get(urlEqualTo("/api/v1/syncs/5"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withHeader("Content-Encoding", "gzip")
+                .withBody(gzip("""
+                    {"id": 5, "slug": "compressed", "configuration": {"columns": "%s"}}
+                    """.formatted("a".repeat(4096))))));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/5/trigger"))
+            .willReturn(okJson("""
+                {"id": 55}
+                """)));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/5/runs"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withHeader("Content-Encoding", "deflate")
+                .withBody(deflate(RUNS))));
+
+        SyncTest.TestSync task = SyncTest.TestSync.builder()
+            .base("http://localhost:28191")
+            .token(Property.ofValue("token"))
+            .syncId(Property.ofValue(5L))
+            .build();
+
+        Sync.Output output = task.run(runContext);
+
+        assertThat(output.getRunId(), is(55L));
+        assertThat(output.getMetadata().getStatus(), is(RunStatus.SUCCESS));
+        verify(getRequestedFor(urlEqualTo("/api/v1/syncs/5")).withHeader("Accept-Encoding", containing("gzip")));
+
+        Double wire = SyncTest.metric(runContext, "http.response.wire.size", "endpoint", "sync.details");
+        Double decoded = SyncTest.metric(runContext, "http.response.size", "endpoint", "sync.details");
+        assertThat(wire, greaterThan(0.0));
+        assertThat(decoded, greaterThan(4096.0));
+        assertThat(wire, lessThanOrEqualTo(decoded));
+    }
+
+    @Test
+    void shouldDecompressByContentEncoding() throws IOException {
+        assertThat(read(HightouchClient.decompress(new ByteArrayInputStream(gzip(RUNS)), headers("gzip"))), is(RUNS));
+        assertThat(read(HightouchClient.decompress(new ByteArrayInputStream(gzip(RUNS)), headers("x-gzip"))), is(RUNS));
+        assertThat(read(HightouchClient.decompress(new ByteArrayInputStream(deflate(RUNS)), headers("Deflate"))), is(RUNS));
+        assertThat(read(HightouchClient.decompress(new ByteArrayInputStream(RUNS.getBytes(StandardCharsets.UTF_8)), headers(null))), is(RUNS));
+    }
+
+    private static HttpHeaders headers(String encoding) {
+        return HttpHeaders.of(encoding == null ? Map.of() : Map.of("Content-Encoding", List.of(encoding)), (name, value) -> true);
+    }
+
+    private static String read(InputStream inputStream) throws IOException {
+        try (inputStream) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(bytes)) {
+            outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream outputStream = new DeflaterOutputStream(bytes)) {
+            outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return bytes.toByteArray();
+    }
+}
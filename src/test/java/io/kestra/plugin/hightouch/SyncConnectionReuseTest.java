@@ -0,0 +1,142 @@
+package io.kestra.plugin.hightouch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+@WireMockTest(httpPort = 28182)
+class SyncConnectionReuseTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldReuseConnectionWhilePolling() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        stubFor(get(urlEqualTo("/api/v1/syncs/0"))
+            .willReturn(okJson("""
+                {"id": 0, "slug": "test-sync"}
+                """)));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/0/trigger"))
+            .willReturn(okJson("""
+                {"id": 123}
+                """)));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/0/runs"))
+            .inScenario("polling")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(okJson(run("processing")))
+            .willSetStateTo("second"));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/0/runs"))
+            .inScenario("polling")
+            .whenScenarioStateIs("second")
+            .willReturn(okJson(run("processing")))
+            .willSetStateTo("done"));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/0/runs"))
+            .inScenario("polling")
+            .whenScenarioStateIs("done")
+            .willReturn(okJson(run("success"))));
+
+        try (CountingProxy proxy = new CountingProxy(28182)) {
+            SyncTest.TestSync task = SyncTest.TestSync.builder()
+                .base("http://localhost:" + proxy.port())
+                .token(Property.ofValue("token"))
+                .syncId(Property.ofValue(0L))
+                .build();
+
+            task.run(runContext);
+
+            verify(3, getRequestedFor(urlPathEqualTo("/api/v1/syncs/0/runs")));
+            assertThat(proxy.connections(), is(1));
+        }
+    }
+
+    private static String run(String status) {
+        return """
+            {
+              "data": [
+                {
+                  "id": 123,
+                  "status": "%s",
+                  "completionRatio": 100,
+                  "successfulRows": {"addedCount": 10, "removedCount": 0, "changedCount": 0},
+                  "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+                }
+              ]
+            }
+            """.formatted(status);
+    }
+
+    /**
+     * A plain TCP relay in front of WireMock that counts accepted client connections.
+     */
+    static class CountingProxy implements AutoCloseable {
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connections = new AtomicInteger();
+
+        CountingProxy(int targetPort) throws IOException {
+            this.serverSocket = new ServerSocket(0);
+
+            Thread.ofVirtual().start(() -> {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        Socket downstream = serverSocket.accept();
+                        connections.incrementAndGet();
+
+                        Socket upstream = new Socket("localhost", targetPort);
+                        pipe(downstream.getInputStream(), upstream.getOutputStream());
+                        pipe(upstream.getInputStream(), downstream.getOutputStream());
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        int connections() {
+            return connections.get();
+        }
+
+        private static void pipe(InputStream in, OutputStream out) {
+            Thread.ofVirtual().start(() -> {
+                try (in; out) {
+                    in.transferTo(out);
+                } catch (IOException ignored) {
+                    // connection closed by one of the peers
+                }
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package io.kestra.plugin.hightouch;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import jakarta.inject.Inject;
+import lombok.experimental.SuperBuilder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest(httpPort = 28189)
+class SyncGraphTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void run() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        stubSync(1L, 11L, "success");
+        stubSync(2L, 22L, "success");
+        stubSync(3L, 33L, "success");
+
+        TestSyncGraph task = TestSyncGraph.builder()
+            .base("http://localhost:28189")
+            .token(Property.ofValue("token"))
+            .syncs(List.of(
+                node(1L),
+                node(2L, 1L),
+                node(3L, 1L, 2L)
+            ))
+            .build();
+
+        SyncGraph.Output output = task.run(runContext);
+
+        assertThat(output.getSyncs(), hasSize(3));
+        assertThat(output.getSyncs().get(2).getRunId(), is(33L));
+        assertThat(output.getSyncs().get(2).getRunStatus(), is(RunStatus.SUCCESS));
+        assertThat(output.getSyncs().stream().map(SyncGraph.NodeResult::getStatus).toList(), everyItem(is(SyncGraph.NodeStatus.SUCCEEDED)));
+        assertThat(output.getCriticalPath(), contains(1L, 2L, 3L));
+        assertThat(output.getSerialDuration().compareTo(output.getCriticalPathDuration()), greaterThanOrEqualTo(0));
+    }
+
+    @Test
+    void shouldReportSyncsInDeclarationOrder() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        stubSync(1L, 11L, "success");
+        stubSync(2L, 22L, "success");
+
+        TestSyncGraph task = TestSyncGraph.builder()
+            .base("http://localhost:28189")
+            .token(Property.ofValue("token"))
+            .syncs(List.of(
+                node(2L, 1L),
+                node(1L)
+            ))
+            .build();
+
+        SyncGraph.Output output = task.run(runContext);
+
+        assertThat(output.getSyncs().stream().map(SyncGraph.NodeResult::getSyncId).toList(), contains(2L, 1L));
+        assertThat(output.getCriticalPath(), contains(1L, 2L));
+    }
+
+    @Test
+    void shouldSkipDependentsOfAFailedSync() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        stubSync(1L, 11L, "failed");
+        stubSync(2L, 22L, "success");
+        stubSync(3L, 33L, "success");
+        stubSync(4L, 44L, "success");
+
+        TestSyncGraph task = TestSyncGraph.builder()
+            .base("http://localhost:28189")
+            .token(Property.ofValue("token"))
+            .syncs(List.of(
+                node(1L),
+                node(2L, 1L),
+                node(3L, 2L),
+                node(4L)
+            ))
+            .build();
+
+        SyncGraph.Output output = task.run(runContext);
+
+        assertThat(output.finalState(), is(Optional.of(State.Type.FAILED)));
+        assertThat(output.getSyncs().stream().map(SyncGraph.NodeResult::getStatus).toList(), contains(
+            SyncGraph.NodeStatus.FAILED,
+            SyncGraph.NodeStatus.SKIPPED,
+            SyncGraph.NodeStatus.SKIPPED,
+            SyncGraph.NodeStatus.SUCCEEDED
+        ));
+        assertThat(output.getSyncs().get(3).getRunId(), is(44L));
+
+        verify(0, postRequestedFor(urlEqualTo("/api/v1/syncs/2/trigger")));
+        verify(0, postRequestedFor(urlEqualTo("/api/v1/syncs/3/trigger")));
+        verify(1, postRequestedFor(urlEqualTo("/api/v1/syncs/4/trigger")));
+    }
+
+    @Test
+    void shouldThrowWhenAbandoningTheGraph() {
+        RunContext runContext = runContextFactory.of();
+
+        stubSync(1L, 11L, "failed");
+        stubSync(2L, 22L, "success");
+
+        TestSyncGraph task = TestSyncGraph.builder()
+            .base("http://localhost:28189")
+            .token(Property.ofValue("token"))
+            .syncs(List.of(
+                node(1L),
+                node(2L, 1L)
+            ))
+            .failureMode(Property.ofValue(SyncGraph.FailureMode.FAIL_FAST))
+            .build();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("1 of 2 syncs failed and 1 were skipped"));
+    }
+
+    @Test
+    void shouldRejectCycles() {
+        RunContext runContext = runContextFactory.of();
+
+        TestSyncGraph task = TestSyncGraph.builder()
+            .base("http://localhost:28189")
+            .token(Property.ofValue("token"))
+            .syncs(List.of(
+                node(1L, 3L),
+                node(2L, 1L),
+                node(3L, 2L)
+            ))
+            .build();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("circular dependencies"));
+    }
+
+    private static SyncGraph.Node node(Long syncId, Long... dependsOn) {
+        return SyncGraph.Node.builder()
+            .syncId(Property.ofValue(syncId))
+            .dependsOn(Property.ofValue(List.of(dependsOn)))
+            .build();
+    }
+
+    private void stubSync(Long syncId, Long runId, String status) {
+        stubFor(get(urlEqualTo("/api/v1/syncs/" + syncId))
+            .willReturn(okJson("""
+                {"id": %d, "slug": "sync-%d"}
+                """.formatted(syncId, syncId))));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/" + syncId + "/trigger"))
+            .willReturn(okJson("""
+                {"id": %d}
+                """.formatted(runId))));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/" + syncId + "/runs"))
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {
+                      "id": %d,
+                      "status": "%s",
+                      "completionRatio": 100,
+                      "successfulRows": {"addedCount": 10, "removedCount": 0, "changedCount": 0},
+                      "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+                    }
+                  ]
+                }
+                """.formatted(runId, status))));
+    }
+
+    @SuperBuilder
+    static class TestSyncGraph extends SyncGraph {
+        private final String base;
+
+        @Override
+        public String baseUrl() {
+            return base;
+        }
+    }
+}
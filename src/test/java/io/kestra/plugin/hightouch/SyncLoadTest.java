@@ -0,0 +1,128 @@
+package io.kestra.plugin.hightouch;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Hundreds of concurrent {@link Sync} executions against the {@link HightouchSimulator}.
+ * <p>
+ * Disabled by default, run it with {@code ./gradlew test --tests '*SyncLoadTest' -Dhightouch.loadTest=true}, and
+ * {@code -Dhightouch.loadTest.syncs=<n>} to change the number of syncs (default 300).
+ */
+@KestraTest
+@EnabledIfSystemProperty(named = "hightouch.loadTest", matches = "true")
+class SyncLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(SyncLoadTest.class);
+    private static final String TOKEN = "load-test-token";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void concurrentSyncs() throws Exception {
+        int syncs = Integer.getInteger("hightouch.loadTest.syncs", 300);
+
+        HightouchSimulator.Profile profile = HightouchSimulator.Profile.builder()
+            .queued(Duration.ofMillis(500))
+            .querying(Duration.ofSeconds(1))
+            .processing(Duration.ofSeconds(3))
+            .reporting(Duration.ofMillis(500))
+            .latency(Duration.ofMillis(20))
+            .latencyJitter(Duration.ofMillis(30))
+            .throttledRatio(0.01)
+            .build();
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+
+        try (HightouchSimulator simulator = new HightouchSimulator(profile)) {
+            // the shared limiter would otherwise dominate: the point is the overhead of the plugin itself
+            RateLimiter.configure(HightouchClient.key(simulator.baseUrl(), "Bearer " + TOKEN), 10_000, 10_000);
+
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max), 0, 100, TimeUnit.MILLISECONDS);
+
+            List<Future<Long>> tasks = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < syncs; i++) {
+                    long syncId = i;
+                    tasks.add(executor.submit(() -> {
+                        SyncTest.TestSync task = SyncTest.TestSync.builder()
+                            .base(simulator.baseUrl())
+                            .token(Property.ofValue(TOKEN))
+                            .syncId(Property.ofValue(syncId))
+                            .maxDuration(Property.ofValue(Duration.ofMinutes(2)))
+                            .pollingPolicy(PollingPolicy.builder()
+                                .minInterval(Property.ofValue(Duration.ofMillis(250)))
+                                .maxInterval(Property.ofValue(Duration.ofSeconds(2)))
+                                .build()
+                            )
+                            .build();
+
+                        long start = System.nanoTime();
+                        Sync.Output output = task.run(runContextFactory.of());
+                        long elapsed = System.nanoTime() - start;
+
+                        assertThat(output.getMetadata().getStatus(), is(RunStatus.SUCCESS));
+
+                        return elapsed;
+                    }));
+                }
+            }
+
+            sampler.shutdownNow();
+
+            List<Long> overheads = new ArrayList<>();
+            for (Future<Long> task : tasks) {
+                overheads.add(Math.max(0, task.get() - profile.total().toNanos()));
+            }
+            overheads.sort(Long::compare);
+
+            double callsPerRun = (double) simulator.requests(null) / syncs;
+            Duration p50 = Duration.ofNanos(overheads.get(overheads.size() / 2));
+            Duration p99 = Duration.ofNanos(overheads.get((int) Math.ceil(overheads.size() * 0.99) - 1));
+            long heapDelta = peakHeap.get() - heapBefore;
+
+            logger.info(
+                "{} syncs: {} API calls per run ({} status polls per run), task overhead p50={} p99={}, peak heap +{} MB",
+                syncs,
+                String.format("%.1f", callsPerRun),
+                String.format("%.1f", (double) simulator.requests("run.status") / syncs),
+                p50,
+                p99,
+                heapDelta / (1024 * 1024)
+            );
+
+            // details + trigger + at most one poll per 250 ms of a 5 s run, plus a few 429 retries
+            assertThat(callsPerRun, lessThan(30.0));
+        } finally {
+            sampler.shutdownNow();
+        }
+    }
+}
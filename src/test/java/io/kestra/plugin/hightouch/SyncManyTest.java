@@ -0,0 +1,130 @@
+package io.kestra.plugin.hightouch;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import jakarta.inject.Inject;
+import lombok.experimental.SuperBuilder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest(httpPort = 28183)
+class SyncManyTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void run() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        stubSync(1L, 11L, "success");
+        stubSync(2L, 22L, "success");
+
+        TestSyncMany task = TestSyncMany.builder()
+            .base("http://localhost:28183")
+            .token(Property.ofValue("token"))
+            .syncIds(Property.ofValue(List.of(1L, 2L)))
+            .concurrency(Property.ofValue(2))
+            .build();
+
+        SyncMany.Output output = task.run(runContext);
+
+        assertThat(output.getRuns(), hasSize(2));
+        assertThat(output.getRuns().get(0).getSyncId(), is(1L));
+        assertThat(output.getRuns().get(0).getRunId(), is(11L));
+        assertThat(output.getRuns().get(1).getRunId(), is(22L));
+        assertThat(output.getRuns().get(1).getStatus(), is(RunStatus.SUCCESS));
+        assertThat(output.finalState(), is(Optional.empty()));
+    }
+
+    @Test
+    void shouldKeepOutputsWhenOneSyncFails() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        stubSync(1L, 11L, "success");
+        stubSync(2L, 22L, "failed");
+
+        TestSyncMany task = TestSyncMany.builder()
+            .base("http://localhost:28183")
+            .token(Property.ofValue("token"))
+            .syncIds(Property.ofValue(List.of(1L, 2L)))
+            .build();
+
+        SyncMany.Output output = task.run(runContext);
+
+        assertThat(output.finalState(), is(Optional.of(State.Type.FAILED)));
+        assertThat(output.getRuns(), hasSize(2));
+        assertThat(output.getRuns().get(0).getError(), nullValue());
+        assertThat(output.getRuns().get(1).getRunId(), is(22L));
+        assertThat(output.getRuns().get(1).getError(), notNullValue());
+    }
+
+    @Test
+    void shouldThrowOnFirstFailureWithFailFast() {
+        RunContext runContext = runContextFactory.of();
+
+        stubSync(1L, 11L, "failed");
+
+        TestSyncMany task = TestSyncMany.builder()
+            .base("http://localhost:28183")
+            .token(Property.ofValue("token"))
+            .syncIds(Property.ofValue(List.of(1L)))
+            .failureMode(Property.ofValue(SyncMany.FailureMode.FAIL_FAST))
+            .build();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("Sync 1 failed"));
+    }
+
+    private void stubSync(Long syncId, Long runId, String status) {
+        stubFor(get(urlEqualTo("/api/v1/syncs/" + syncId))
+            .willReturn(okJson("""
+                {"id": %d, "slug": "sync-%d"}
+                """.formatted(syncId, syncId))));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/" + syncId + "/trigger"))
+            .willReturn(okJson("""
+                {"id": %d}
+                """.formatted(runId))));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/" + syncId + "/runs"))
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {
+                      "id": %d,
+                      "status": "%s",
+                      "completionRatio": 100,
+                      "successfulRows": {"addedCount": 10, "removedCount": 0, "changedCount": 0},
+                      "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+                    }
+                  ]
+                }
+                """.formatted(runId, status))));
+    }
+
+    @SuperBuilder
+    static class TestSyncMany extends SyncMany {
+        private final String base;
+
+        @Override
+        public String baseUrl() {
+            return base;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+@WireMockTest(httpPort = 28187)
+class SyncReattachTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldReattachToRunningRun() throws Exception {
+        stubSync("success");
+
+        SyncTest.TestSync task = task();
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+        String key = RunCheckpoint.key(runContext, "9").orElseThrow();
+        new RunCheckpoint("9", 77L, Instant.now()).put(runContext, key);
+
+        Sync.Output output = task.run(runContext);
+
+        assertThat(output.getRunId(), is(77L));
+        verify(0, postRequestedFor(urlEqualTo("/api/v1/syncs/9/trigger")));
+        assertThat(RunCheckpoint.get(runContext, key).isPresent(), is(false));
+    }
+
+    @Test
+    void shouldTriggerAgainWhenPreviousRunFailed() throws Exception {
+        stubSync("failed");
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/9/runs"))
+            .withQueryParam("runId", equalTo("78"))
+            .willReturn(okJson(run(78L, "success"))));
+
+        SyncTest.TestSync task = task();
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+        String key = RunCheckpoint.key(runContext, "9").orElseThrow();
+        new RunCheckpoint("9", 77L, Instant.now()).put(runContext, key);
+
+        Sync.Output output = task.run(runContext);
+
+        assertThat(output.getRunId(), is(78L));
+        verify(1, postRequestedFor(urlEqualTo("/api/v1/syncs/9/trigger")));
+    }
+
+    private static SyncTest.TestSync task() {
+        return SyncTest.TestSync.builder()
+            .id("sync")
+            .type(Sync.class.getName())
+            .base("http://localhost:28187")
+            .token(Property.ofValue("token"))
+            .syncId(Property.ofValue(9L))
+            .build();
+    }
+
+    private void stubSync(String previousStatus) {
+        stubFor(get(urlEqualTo("/api/v1/syncs/9"))
+            .willReturn(okJson("""
+                {"id": 9, "slug": "reattach"}
+                """)));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/9/trigger"))
+            .willReturn(okJson("""
+                {"id": 78}
+                """)));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/9/runs"))
+            .withQueryParam("runId", equalTo("77"))
+            .willReturn(okJson(run(77L, previousStatus))));
+    }
+
+    private static String run(Long runId, String status) {
+        return """
+            {
+              "data": [
+                {
+                  "id": %d,
+                  "status": "%s",
+                  "completionRatio": 100,
+                  "successfulRows": {"addedCount": 1, "removedCount": 0, "changedCount": 0},
+                  "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+                }
+              ]
+            }
+            """.formatted(runId, status);
+    }
+}
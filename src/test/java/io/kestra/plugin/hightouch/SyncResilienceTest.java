@@ -0,0 +1,100 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+@WireMockTest(httpPort = 28192)
+class SyncResilienceTest {
+    private static final String RUNS = """
+        {"data": [{"id": 66, "status": "success", "completionRatio": 100}]}
+        """;
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldHedgeSlowStatusLookup() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        stubSync();
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/6/runs"))
+            .inScenario("slow")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(okJson(RUNS).withFixedDelay(2000))
+            .willSetStateTo("fast"));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/6/runs"))
+            .inScenario("slow")
+            .whenScenarioStateIs("fast")
+            .willReturn(okJson(RUNS)));
+
+        Sync.Output output = task(Duration.ofMillis(200)).run(runContext);
+
+        assertThat(output.getMetadata().getStatus(), is(RunStatus.SUCCESS));
+        assertThat(SyncTest.metric(runContext, "http.hedged.requests", "endpoint", "run.status"), is(1.0));
+    }
+
+    @Test
+    void shouldRetryServerErrorsWhilePolling() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        stubSync();
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/6/runs"))
+            .inScenario("outage")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(serviceUnavailable())
+            .willSetStateTo("recovered"));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/6/runs"))
+            .inScenario("outage")
+            .whenScenarioStateIs("recovered")
+            .willReturn(okJson(RUNS)));
+
+        Sync.Output output = task(Duration.ZERO).run(runContext);
+
+        assertThat(output.getMetadata().getStatus(), is(RunStatus.SUCCESS));
+        assertThat(SyncTest.metric(runContext, "poll.retries", null, null), is(1.0));
+        verify(postRequestedFor(urlEqualTo("/api/v1/syncs/6/trigger")));
+    }
+
+    private static SyncTest.TestSync task(Duration hedgeAfter) {
+        return SyncTest.TestSync.builder()
+            .base("http://localhost:28192")
+            .token(Property.ofValue("token"))
+            .syncId(Property.ofValue(6L))
+            .pollingPolicy(PollingPolicy.builder()
+                .minInterval(Property.ofValue(Duration.ofMillis(100)))
+                .hedgeAfter(Property.ofValue(hedgeAfter))
+                .build())
+            .build();
+    }
+
+    private void stubSync() {
+        stubFor(get(urlEqualTo("/api/v1/syncs/6"))
+            .willReturn(okJson("""
+                {"id": 6, "slug": "resilience"}
+                """)));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/6/trigger"))
+            .willReturn(okJson("""
+                {"id": 66}
+                """)));
+    }
+}
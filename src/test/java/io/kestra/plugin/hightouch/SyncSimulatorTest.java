@@ -0,0 +1,58 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hightouch.models.RunStatus;
+import io.kestra.plugin.hightouch.models.StatusTransition;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class SyncSimulatorTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldFollowRunLifecycleWhileThrottled() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        HightouchSimulator.Profile profile = HightouchSimulator.Profile.builder()
+            .queued(Duration.ofMillis(300))
+            .querying(Duration.ofMillis(300))
+            .processing(Duration.ofMillis(600))
+            .reporting(Duration.ofMillis(300))
+            .latency(Duration.ofMillis(5))
+            .throttledRatio(0.2)
+            .build();
+
+        try (HightouchSimulator simulator = new HightouchSimulator(profile)) {
+            SyncTest.TestSync task = SyncTest.TestSync.builder()
+                .base(simulator.baseUrl())
+                .token(Property.ofValue("simulator-token"))
+                .syncId(Property.ofValue(42L))
+                .pollingPolicy(PollingPolicy.builder()
+                    .minInterval(Property.ofValue(Duration.ofMillis(50)))
+                    .maxInterval(Property.ofValue(Duration.ofMillis(100)))
+                    .build()
+                )
+                .build();
+
+            Sync.Output output = task.run(runContext);
+
+            assertThat(output.getMetadata().getStatus(), is(RunStatus.SUCCESS));
+            assertThat(output.getMetadata().getSuccessfulRows().getAddedCount(), is(1000L));
+            assertThat(output.getTimeline().stream().map(StatusTransition::getStatus).toList(), hasItems(RunStatus.PROCESSING, RunStatus.SUCCESS));
+            assertThat(simulator.requests("trigger"), greaterThanOrEqualTo(1L));
+            assertThat(simulator.requests("run.status"), greaterThan(3L));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest(httpPort = 28194)
+class SyncSlugTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldResolveSlugOnceThroughIndex() throws Exception {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs"))
+            .withQueryParam("slug", equalTo("contacts"))
+            .willReturn(okJson(page("""
+                {"id": 3, "slug": "contacts", "updatedAt": "2026-01-01T00:00:00Z"}
+                """))));
+        stubSync(3L);
+
+        for (int i = 0; i < 2; i++) {
+            SyncTest.TestSync task = SyncTest.TestSync.builder()
+                .id("sync")
+                .type(Sync.class.getName())
+                .base("http://localhost:28194")
+                .token(Property.ofValue("slug-token"))
+                .syncSlug(Property.ofValue("contacts"))
+                .build();
+
+            Sync.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+            assertThat(output.getRunId(), is(33L));
+        }
+
+        verify(1, getRequestedFor(urlPathEqualTo("/api/v1/syncs")));
+        verify(2, postRequestedFor(urlEqualTo("/api/v1/syncs/3/trigger")));
+    }
+
+    @Test
+    void shouldShareConcurrentLookupsOfSameSlug() throws Exception {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs"))
+            .withQueryParam("slug", equalTo("slow"))
+            .willReturn(okJson(page("""
+                {"id": 12, "slug": "slow", "updatedAt": "2026-01-01T00:00:00Z"}
+                """)).withFixedDelay(500)));
+
+        SyncTest.TestSync task = SyncTest.TestSync.builder()
+            .id("sync")
+            .type(Sync.class.getName())
+            .base("http://localhost:28194")
+            .token(Property.ofValue("concurrent-token"))
+            .syncSlug(Property.ofValue("slow"))
+            .build();
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        try (
+            HightouchClient client = new HightouchClient(runContext, "http://localhost:28194", "concurrent-token", null);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            SyncRunner runner = new SyncRunner(client, runContext.logger());
+            SyncIndex index = SyncIndex.of(client.key());
+
+            List<Future<Long>> lookups = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                lookups.add(executor.submit(() -> index.resolve(runContext, runner, "slow", SyncIndex.DEFAULT_TTL)));
+            }
+
+            for (Future<Long> lookup : lookups) {
+                assertThat(lookup.get(), is(12L));
+            }
+        }
+
+        verify(1, getRequestedFor(urlPathEqualTo("/api/v1/syncs")));
+    }
+
+    @Test
+    void shouldFailOnUnknownSlug() {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs"))
+            .willReturn(okJson(page())));
+
+        SyncTest.TestSync task = SyncTest.TestSync.builder()
+            .id("sync")
+            .type(Sync.class.getName())
+            .base("http://localhost:28194")
+            .token(Property.ofValue("unknown-token"))
+            .syncSlug(Property.ofValue("missing"))
+            .build();
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()))
+        );
+        assertThat(exception.getMessage(), containsString("'missing'"));
+    }
+
+    @Test
+    void shouldSelectSyncsByGlob() throws Exception {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs"))
+            .willReturn(okJson(page(
+                """
+                {"id": 4, "slug": "prod-b", "updatedAt": "2026-01-01T00:00:00Z"}
+                """,
+                """
+                {"id": 5, "slug": "staging-a", "updatedAt": "2026-01-01T00:00:00Z"}
+                """,
+                """
+                {"id": 6, "slug": "prod-a", "updatedAt": "2026-01-01T00:00:00Z"}
+                """
+            ))));
+        stubSync(4L);
+        stubSync(6L);
+
+        SyncManyTest.TestSyncMany task = SyncManyTest.TestSyncMany.builder()
+            .id("syncs")
+            .type(SyncMany.class.getName())
+            .base("http://localhost:28194")
+            .token(Property.ofValue("glob-token"))
+            .syncSlugs(Property.ofValue(List.of("prod-*")))
+            .build();
+
+        SyncMany.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+        assertThat(output.getRuns().stream().map(SyncMany.SyncResult::getSyncId).toList(), contains(6L, 4L));
+        verify(0, postRequestedFor(urlEqualTo("/api/v1/syncs/5/trigger")));
+    }
+
+    @Test
+    void shouldCheckSlugAgainOnceTtlExpired() throws Exception {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs"))
+            .withQueryParam("slug", equalTo("expiring"))
+            .willReturn(okJson(page("""
+                {"id": 7, "slug": "expiring", "updatedAt": "2026-01-01T00:00:00Z"}
+                """))));
+        stubSync(7L);
+
+        for (int i = 0; i < 2; i++) {
+            SyncTest.TestSync task = SyncTest.TestSync.builder()
+                .id("sync")
+                .type(Sync.class.getName())
+                .base("http://localhost:28194")
+                .token(Property.ofValue("ttl-token"))
+                .syncSlug(Property.ofValue("expiring"))
+                .syncIndexTtl(Property.ofValue(Duration.ZERO))
+                .build();
+
+            task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+        }
+
+        verify(2, getRequestedFor(urlPathEqualTo("/api/v1/syncs")));
+    }
+
+    @Test
+    void shouldMatchGlobsOnTheRawSlug() {
+        assertThat(SyncIndex.glob("prod-*").matcher("prod-a/b").matches(), is(true));
+        assertThat(SyncIndex.glob("prod-?").matcher("prod-a").matches(), is(true));
+        assertThat(SyncIndex.glob("prod-?").matcher("prod-ab").matches(), is(false));
+        assertThat(SyncIndex.glob("a.b").matcher("axb").matches(), is(false));
+        assertThat(SyncIndex.glob("[prod]*").matcher("[prod]-a").matches(), is(true));
+        assertThat(SyncIndex.glob("prod").matcher("prod-a").matches(), is(false));
+    }
+
+    private static String page(String... syncs) {
+        return """
+            {"data": [%s], "hasMore": false}
+            """.formatted(String.join(",", syncs));
+    }
+
+    private void stubSync(Long syncId) {
+        stubFor(get(urlEqualTo("/api/v1/syncs/" + syncId))
+            .willReturn(okJson("""
+                {"id": %d, "slug": "sync-%d"}
+                """.formatted(syncId, syncId))));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/" + syncId + "/trigger"))
+            .willReturn(okJson("""
+                {"id": %d}
+                """.formatted(syncId * 11))));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/" + syncId + "/runs"))
+            .willReturn(okJson("""
+                {"data": [{"id": %d, "status": "success", "completionRatio": 100}]}
+                """.formatted(syncId * 11))));
+    }
+}
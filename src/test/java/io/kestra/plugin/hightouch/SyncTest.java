@@ -1,5 +1,7 @@
 package io.kestra.plugin.hightouch;
 
+import java.time.Duration;
+
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -12,7 +14,9 @@ import org.junit.jupiter.api.Test;
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @KestraTest
 @WireMockTest(httpPort = 28181)
@@ -59,6 +63,115 @@ class SyncTest {
         assertThat(runOutput.getRunId(), is(notNullValue()));
     }
 
+    @Test
+    void shouldRecordHttpMetrics() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        stubHightouchApi();
+
+        TestSync task = TestSync.builder()
+            .base("http://localhost:28181")
+            .token(Property.ofValue("metrics-token"))
+            .syncId(Property.ofValue(0L))
+            .syncDetailsCacheTtl(Property.ofValue(Duration.ZERO))
+            .build();
+
+        task.run(runContext);
+
+        assertThat(metric(runContext, "http.requests", "endpoint", "trigger"), is(1.0));
+        assertThat(metric(runContext, "http.requests", "endpoint", "sync.details"), is(1.0));
+        assertThat(metric(runContext, "http.responses", "status", "200") >= 3.0, is(true));
+        assertThat(metric(runContext, "http.response.size", "endpoint", "run.status") > 0.0, is(true));
+        assertThat(metric(runContext, "polls", null, null) >= 1.0, is(true));
+    }
+
+    @Test
+    void shouldPublishProgressOfAFailedRun() {
+        RunContext runContext = runContextFactory.of();
+
+        stubHightouchApi();
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/0/runs"))
+            .atPriority(1)
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {
+                      "id": 123,
+                      "status": "failed",
+                      "completionRatio": 40,
+                      "successfulRows": {
+                        "addedCount": 4,
+                        "removedCount": 0,
+                        "changedCount": 0
+                      },
+                      "failedRows": {
+                        "addedCount": 6,
+                        "removedCount": 0,
+                        "changedCount": 0
+                      }
+                    }
+                  ]
+                }
+            """)));
+
+        TestSync task = TestSync.builder()
+            .base("http://localhost:28181")
+            .token(Property.ofValue("failed-progress-token"))
+            .syncId(Property.ofValue(0L))
+            .progressMetricsInterval(Property.ofValue(Duration.ZERO))
+            .build();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> task.run(runContext));
+
+        assertThat(exception.getMessage(), containsString("Failed run"));
+        assertThat(metric(runContext, "completion.ratio", null, null), is(40.0));
+        assertThat(metric(runContext, "rows.successfully.added", null, null), is(4.0));
+        assertThat(metric(runContext, "rows.failed.added", null, null), is(6.0));
+        assertThat(metric(runContext, "run.status", "status", "failed"), is(1.0));
+    }
+
+    static Double metric(RunContext runContext, String name, String tag, String value) {
+        return runContext.metrics().stream()
+            .filter(metric -> metric.getName().equals(name))
+            .filter(metric -> tag == null || value.equals(metric.getTags().get(tag)))
+            .map(metric -> ((Number) metric.getValue()).doubleValue())
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Test
+    void shouldRevalidateCachedSyncDetails() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        stubHightouchApi();
+        stubFor(get(urlEqualTo("/api/v1/syncs/0"))
+            .withHeader("If-None-Match", equalTo("\"v1\""))
+            .atPriority(1)
+            .willReturn(aResponse().withStatus(304)));
+        stubFor(get(urlEqualTo("/api/v1/syncs/0"))
+            .atPriority(2)
+            .willReturn(okJson("""
+                {
+                  "id": 0,
+                  "slug": "test-sync"
+                }
+            """).withHeader("ETag", "\"v1\"")));
+
+        TestSync task = TestSync.builder()
+            .base("http://localhost:28181")
+            .token(Property.ofValue("revalidate-token"))
+            .syncId(Property.ofValue(0L))
+            .syncDetailsCacheTtl(Property.ofValue(Duration.ofMillis(1)))
+            .build();
+
+        task.run(runContext);
+        Thread.sleep(10);
+        Sync.Output runOutput = task.run(runContext);
+
+        assertThat(runOutput.getRunId(), is(123L));
+        verify(1, getRequestedFor(urlEqualTo("/api/v1/syncs/0")).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
     private void stubHightouchApi() {
         stubFor(get(urlEqualTo("/api/v1/syncs/0"))
             .willReturn(okJson("""
@@ -108,7 +221,7 @@ class SyncTest {
         }
 
         @Override
-        protected String baseUrl() {
+        public String baseUrl() {
             return base;
         }
     }
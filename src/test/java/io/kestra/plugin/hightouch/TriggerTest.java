@@ -0,0 +1,119 @@
+package io.kestra.plugin.hightouch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+import lombok.experimental.SuperBuilder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+@WireMockTest(httpPort = 28185)
+class TriggerTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldEmitNewlyFinishedRuns() throws Exception {
+        stubRuns("""
+            {"id": 1, "status": "success", "createdAt": "2026-01-01T00:00:00Z", "finishedAt": "2026-01-01T00:10:00Z"}
+            """);
+
+        TestTrigger trigger = TestTrigger.builder()
+            .id(IdUtils.create())
+            .type(Trigger.class.getName())
+            .base("http://localhost:28185")
+            .token(Property.ofValue("token"))
+            .syncIds(Property.ofValue(List.of(7L)))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        // first evaluation only records where history stops
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        stubRuns("""
+            {"id": 2, "status": "failed", "createdAt": "2026-01-01T01:00:00Z", "finishedAt": "2026-01-01T01:05:00Z"},
+            {"id": 3, "status": "processing", "createdAt": "2026-01-01T01:30:00Z"},
+            {"id": 1, "status": "success", "createdAt": "2026-01-01T00:00:00Z", "finishedAt": "2026-01-01T00:10:00Z"}
+            """);
+
+        Optional<Execution> execution = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(execution.isPresent(), is(true));
+
+        List<Map<String, Object>> runs = (List<Map<String, Object>>) execution.get().getTrigger().getVariables().get("runs");
+        assertThat(runs, hasSize(1));
+        assertThat(((Map<String, Object>) runs.getFirst().get("run")).get("id"), is(2));
+
+        // already delivered runs are not emitted again
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+    }
+
+    @Test
+    void shouldResolveSlugsThroughCachedIndex() throws Exception {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs"))
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {"id": 7, "slug": "prod-contacts", "updatedAt": "2026-01-01T00:00:00Z"},
+                    {"id": 8, "slug": "staging-contacts", "updatedAt": "2026-01-01T00:00:00Z"}
+                  ],
+                  "hasMore": false
+                }
+                """)));
+        stubRuns("""
+            {"id": 1, "status": "success", "createdAt": "2026-01-01T00:00:00Z", "finishedAt": "2026-01-01T00:10:00Z"}
+            """);
+
+        TestTrigger trigger = TestTrigger.builder()
+            .id(IdUtils.create())
+            .type(Trigger.class.getName())
+            .base("http://localhost:28185")
+            .token(Property.ofValue("slug-token"))
+            .syncSlugs(Property.ofValue(List.of("prod-*")))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        // the workspace syncs are listed once, and only the matching sync is watched
+        verify(1, getRequestedFor(urlPathEqualTo("/api/v1/syncs")));
+        verify(0, getRequestedFor(urlPathEqualTo("/api/v1/syncs/8/runs")));
+    }
+
+    private void stubRuns(String runs) {
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/7/runs"))
+            .willReturn(okJson("""
+                {"data": [%s], "hasMore": false}
+                """.formatted(runs))));
+    }
+
+    @SuperBuilder
+    static class TestTrigger extends Trigger {
+        private final String base;
+
+        @Override
+        public String baseUrl() {
+            return base;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.kestra.plugin.hightouch;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hightouch.models.RunStatus;
+
+import jakarta.inject.Inject;
+import lombok.experimental.SuperBuilder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@WireMockTest(httpPort = 28186)
+class WaitForRunTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void run() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        stubRun(5L, 55L, "success");
+
+        Sync.Output output = task(5L, 55L).run(runContext);
+
+        assertThat(output.getRunId(), is(55L));
+        assertThat(output.getMetadata().getStatus(), is(RunStatus.SUCCESS));
+        assertThat(runContext.metrics().stream().anyMatch(m -> m.getName().equals("rows.successfully.added")), is(true));
+        verify(0, postRequestedFor(urlPathMatching(".*/trigger")));
+    }
+
+    @Test
+    void shouldFailOnFailedRun() {
+        RunContext runContext = runContextFactory.of();
+
+        stubRun(6L, 66L, "failed");
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> task(6L, 66L).run(runContext));
+        assertThat(exception.getMessage(), containsString("Failed run with status"));
+        assertThat(runContext.metrics().stream().anyMatch(m -> m.getName().equals("run.status") && m.getTags().get("status").equals("failed")), is(true));
+    }
+
+    @Test
+    void shouldCancelRunOnTimeout() {
+        stubFor(get(urlEqualTo("/api/v1/syncs/8"))
+            .willReturn(okJson("""
+                {"id": 8, "slug": "sync-8"}
+                """)));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/8/runs"))
+            .inScenario("cancel")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(okJson("""
+                {"data": [{"id": 88, "status": "processing", "completionRatio": 40}]}
+                """)));
+
+        stubFor(post(urlEqualTo("/api/v1/syncs/8/cancel"))
+            .inScenario("cancel")
+            .willSetStateTo("cancelled")
+            .willReturn(okJson("{}")));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/8/runs"))
+            .inScenario("cancel")
+            .whenScenarioStateIs("cancelled")
+            .willReturn(okJson("""
+                {"data": [{"id": 88, "status": "cancelled", "completionRatio": 40}]}
+                """)));
+
+        TestWaitForRun task = TestWaitForRun.builder()
+            .base("http://localhost:28186")
+            .token(Property.ofValue("cancel-token"))
+            .syncId(Property.ofValue(8L))
+            .runId(Property.ofValue(88L))
+            .maxDuration(Property.ofValue(Duration.ofMillis(500)))
+            .onTimeout(Property.ofValue(Sync.OnTimeout.CANCEL))
+            .cancelGracePeriod(Property.ofValue(Duration.ofSeconds(5)))
+            .pollingPolicy(PollingPolicy.builder()
+                .minInterval(Property.ofValue(Duration.ofMillis(100)))
+                .build())
+            .build();
+
+        TimeoutException exception = assertThrows(TimeoutException.class, () -> task.run(runContextFactory.of()));
+
+        assertThat(exception.getMessage(), containsString("runId 88 was cancelled"));
+        verify(1, postRequestedFor(urlEqualTo("/api/v1/syncs/8/cancel"))
+            .withRequestBody(equalToJson("""
+                {"runId": 88}
+                """)));
+    }
+
+    private static TestWaitForRun task(Long syncId, Long runId) {
+        return TestWaitForRun.builder()
+            .base("http://localhost:28186")
+            .token(Property.ofValue("token"))
+            .syncId(Property.ofValue(syncId))
+            .runId(Property.ofValue(runId))
+            .build();
+    }
+
+    private void stubRun(Long syncId, Long runId, String status) {
+        stubFor(get(urlEqualTo("/api/v1/syncs/" + syncId))
+            .willReturn(okJson("""
+                {"id": %d, "slug": "sync-%d"}
+                """.formatted(syncId, syncId))));
+
+        stubFor(get(urlPathEqualTo("/api/v1/syncs/" + syncId + "/runs"))
+            .willReturn(okJson("""
+                {
+                  "data": [
+                    {
+                      "id": %d,
+                      "status": "%s",
+                      "completionRatio": 100,
+                      "successfulRows": {"addedCount": 10, "removedCount": 0, "changedCount": 0},
+                      "failedRows": {"addedCount": 0, "removedCount": 0, "changedCount": 0}
+                    }
+                  ]
+                }
+                """.formatted(runId, status))));
+    }
+
+    @SuperBuilder
+    static class TestWaitForRun extends WaitForRun {
+        private final String base;
+
+        @Override
+        public String baseUrl() {
+            return base;
+        }
+    }
+}
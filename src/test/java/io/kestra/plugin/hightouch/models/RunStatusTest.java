@@ -0,0 +1,54 @@
+package io.kestra.plugin.hightouch.models;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RunStatusTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void shouldMapCanonicalValuesAndAliases() {
+        assertThat(RunStatus.fromValue("success"), is(RunStatus.SUCCESS));
+        assertThat(RunStatus.fromValue("  Completed With Errors "), is(RunStatus.COMPLETED_WITH_ERRORS));
+        assertThat(RunStatus.fromValue("completed-with-error"), is(RunStatus.COMPLETED_WITH_ERRORS));
+        assertThat(RunStatus.fromValue("Canceled by user"), is(RunStatus.CANCELLED));
+        assertThat(RunStatus.fromValue("FAILED"), is(RunStatus.FAILED));
+        assertThat(RunStatus.fromValue("unknown"), nullValue());
+        assertThat(RunStatus.fromValue(""), nullValue());
+        assertThat(RunStatus.fromValue(null), nullValue());
+    }
+
+    @Test
+    void shouldDeserializeFromParserBuffer() throws Exception {
+        assertThat(MAPPER.readValue("\"Aborted due to fatal error\"", RunStatus.class), is(RunStatus.FAILED));
+        assertThat(MAPPER.readValue("\"querying\"", RunStatus.class), is(RunStatus.QUERYING));
+        assertThat(MAPPER.readValue("\"unknown\"", RunStatus.class), nullValue());
+        assertThat(MAPPER.readValue("null", RunStatus.class), nullValue());
+        assertThat(MAPPER.writeValueAsString(RunStatus.COMPLETED_WITH_ERRORS), is("\"completed_with_errors\""));
+    }
+
+    @Test
+    void shouldNotAllocateWhileMatching() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        char[] buffer = "{\"status\": \"Completed With Errors\"}".toCharArray();
+        long thread = Thread.currentThread().threadId();
+
+        RunStatus last = null;
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            last = RunStatus.fromChars(buffer, 12, 21);
+            last = RunStatus.fromValue("canceled by user") == RunStatus.CANCELLED ? last : null;
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertThat(last, is(RunStatus.COMPLETED_WITH_ERRORS));
+        // a few bytes for the measurement itself, versus several strings per call when normalizing
+        assertThat(allocated, lessThan(10_000L));
+    }
+}